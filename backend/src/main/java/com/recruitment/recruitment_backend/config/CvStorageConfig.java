@@ -0,0 +1,81 @@
+package com.recruitment.recruitment_backend.config;
+
+import com.recruitment.recruitment_backend.security.SignedCvUrlFilter;
+import com.recruitment.recruitment_backend.service.CvDownloadService;
+import com.recruitment.recruitment_backend.service.CvUrlSigner;
+import com.recruitment.recruitment_backend.service.storage.CvBlobStore;
+import com.recruitment.recruitment_backend.service.storage.LocalCvBlobStore;
+import com.recruitment.recruitment_backend.service.storage.S3CvBlobStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.checksums.RequestChecksumCalculation;
+import software.amazon.awssdk.core.checksums.ResponseChecksumValidation;
+import software.amazon.awssdk.http.urlconnection.UrlConnectionHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3ClientBuilder;
+
+import java.net.URI;
+import java.nio.file.Paths;
+
+/**
+ * Chooses where CV files are stored: {@code file.storage.type=local} keeps them under
+ * {@code file.upload-dir}, {@code s3} puts them in a bucket shared by all instances.
+ * Either way they are served through signed {@code /uploads/cv/**} links.
+ */
+@Configuration
+public class CvStorageConfig {
+
+    /**
+     * Signed CV links are checked and served by a plain servlet filter, ahead of the
+     * dispatcher servlet.
+     */
+    @Bean
+    public FilterRegistrationBean<SignedCvUrlFilter> signedCvUrlFilter(CvUrlSigner cvUrlSigner,
+                                                                      CvDownloadService cvDownloadService) {
+        FilterRegistrationBean<SignedCvUrlFilter> registration =
+                new FilterRegistrationBean<>(new SignedCvUrlFilter(cvUrlSigner, cvDownloadService));
+        registration.addUrlPatterns(CvUrlSigner.PATH_PREFIX + "*");
+        return registration;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "file.storage.type", havingValue = "local", matchIfMissing = true)
+    public CvBlobStore localCvBlobStore(@Value("${file.upload-dir:uploads/cv}") String uploadDir) {
+        return new LocalCvBlobStore(Paths.get(uploadDir).toAbsolutePath().normalize());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "file.storage.type", havingValue = "s3")
+    public CvBlobStore s3CvBlobStore(@Value("${file.storage.s3.endpoint:}") String endpoint,
+                                     @Value("${file.storage.s3.region:us-east-1}") String region,
+                                     @Value("${file.storage.s3.bucket}") String bucket,
+                                     @Value("${file.storage.s3.prefix:cv/}") String prefix,
+                                     @Value("${file.storage.s3.access-key:}") String accessKey,
+                                     @Value("${file.storage.s3.secret-key:}") String secretKey,
+                                     @Value("${file.storage.s3.path-style:true}") boolean pathStyle,
+                                     @Value("${file.storage.s3.part-size-mb:8}") int partSizeMb) {
+        S3ClientBuilder builder = S3Client.builder()
+                .httpClientBuilder(UrlConnectionHttpClient.builder())
+                .region(Region.of(region))
+                // MinIO and most S3-compatible stores address buckets by path, not subdomain
+                .forcePathStyle(pathStyle)
+                // Only checksum when S3 requires it; not every compatible store supports the newer algorithms
+                .requestChecksumCalculation(RequestChecksumCalculation.WHEN_REQUIRED)
+                .responseChecksumValidation(ResponseChecksumValidation.WHEN_REQUIRED);
+        if (StringUtils.hasText(endpoint)) {
+            builder.endpointOverride(URI.create(endpoint));
+        }
+        builder.credentialsProvider(StringUtils.hasText(accessKey)
+                ? StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKey, secretKey))
+                : DefaultCredentialsProvider.create());
+        return new S3CvBlobStore(builder.build(), bucket, prefix, partSizeMb * 1024 * 1024);
+    }
+}
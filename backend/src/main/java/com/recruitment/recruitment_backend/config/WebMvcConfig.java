@@ -1,27 +1,17 @@
 package com.recruitment.recruitment_backend.config;
 
-import org.springframework.beans.factory.annotation.Value;
+import com.recruitment.recruitment_backend.security.CurrentUserArgumentResolver;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.util.List;
 
 @Configuration
 public class WebMvcConfig implements WebMvcConfigurer {
 
-    @Value("${file.upload-dir:uploads/cv}")
-    private String uploadDir;
-
     @Override
-    public void addResourceHandlers(ResourceHandlerRegistry registry) {
-        // Get absolute path for uploads directory
-        Path uploadPath = Paths.get(uploadDir).toAbsolutePath().normalize();
-        String uploadAbsolutePath = uploadPath.toUri().toString();
-
-        // Serve files from /uploads/cv/** URL
-        registry.addResourceHandler("/uploads/cv/**")
-                .addResourceLocations(uploadAbsolutePath);
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(new CurrentUserArgumentResolver());
     }
 }
@@ -2,10 +2,20 @@ package com.recruitment.recruitment_backend.controller;
 
 import com.recruitment.recruitment_backend.dto.ApplicationDTO;
 import com.recruitment.recruitment_backend.dto.ApplicationSubmitRequest;
+import com.recruitment.recruitment_backend.dto.BulkStatusUpdateRequest;
+import com.recruitment.recruitment_backend.dto.IntakeTicket;
+import com.recruitment.recruitment_backend.dto.StatusUpdateResult;
+import com.recruitment.recruitment_backend.service.ApplicationIntakeService;
 import com.recruitment.recruitment_backend.service.ApplicationService;
+import com.recruitment.recruitment_backend.service.FileStorageService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
 import java.util.HashMap;
 import java.util.List;
@@ -19,6 +29,15 @@ public class ApplicationController {
     @Autowired
     private ApplicationService applicationService;
 
+    @Autowired
+    private ApplicationIntakeService applicationIntakeService;
+
+    @Autowired
+    private FileStorageService fileStorageService;
+
+    @Value("${intake.retry-after-seconds:5}")
+    private int intakeRetryAfterSeconds;
+
     // Public endpoint - Submit application (no authentication required)
     @PostMapping(value = "/submit", produces = "application/json; charset=UTF-8", consumes = "application/json; charset=UTF-8")
     public ResponseEntity<?> submitApplication(@RequestBody ApplicationSubmitRequest request) {
@@ -35,6 +54,57 @@ public class ApplicationController {
         }
     }
 
+    // Public endpoint - Upload CV and submit application in one request (no authentication required)
+    @PostMapping(value = "/submit-with-cv", produces = "application/json; charset=UTF-8", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> submitApplicationWithCv(
+            @RequestPart("application") ApplicationSubmitRequest request,
+            @RequestPart("file") MultipartFile file) {
+        String validationError = fileStorageService.validateCvFile(file);
+        if (validationError != null) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", validationError);
+            return ResponseEntity.badRequest().body(error);
+        }
+
+        try {
+            ApplicationDTO application = applicationService.submitApplicationWithCv(request, file);
+            Map<String, Object> response = new HashMap<>();
+            response.put("message", "Nộp hồ sơ thành công!");
+            response.put("data", application);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
+    // Public endpoint - Queue application for batched write, acknowledged with a ticket id
+    @PostMapping(value = "/intake", produces = "application/json; charset=UTF-8", consumes = "application/json; charset=UTF-8")
+    public ResponseEntity<?> queueApplication(
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @RequestBody ApplicationSubmitRequest request) {
+        IntakeTicket ticket = applicationIntakeService.enqueue(idempotencyKey, request);
+        if (ticket == null) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Hệ thống đang quá tải, vui lòng thử lại sau");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(intakeRetryAfterSeconds))
+                    .body(error);
+        }
+        return ResponseEntity.accepted().body(ticket);
+    }
+
+    // Public endpoint - Check the result of a queued application
+    @GetMapping(value = "/intake/{ticketId}", produces = "application/json; charset=UTF-8")
+    public ResponseEntity<IntakeTicket> getIntakeTicket(@PathVariable String ticketId) {
+        IntakeTicket ticket = applicationIntakeService.getTicket(ticketId);
+        if (ticket == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(ticket);
+    }
+
     // Get all applications (HR/Admin/Rector only)
     @GetMapping(produces = "application/json; charset=UTF-8")
     public ResponseEntity<List<ApplicationDTO>> getAllApplications() {
@@ -64,4 +134,21 @@ public class ApplicationController {
             return ResponseEntity.badRequest().body(error);
         }
     }
+
+    // Bulk update application status by ids or by plan + current status (HR/Admin/Rector only)
+    @PutMapping(value = "/status", produces = "application/json; charset=UTF-8", consumes = "application/json; charset=UTF-8")
+    public ResponseEntity<?> updateApplicationStatuses(@RequestBody BulkStatusUpdateRequest request) {
+        try {
+            List<StatusUpdateResult> results = applicationService.updateApplicationStatuses(request);
+            long updated = results.stream().filter(StatusUpdateResult::isUpdated).count();
+            Map<String, Object> response = new HashMap<>();
+            response.put("updated", updated);
+            response.put("results", results);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
 }
@@ -1,9 +1,15 @@
 package com.recruitment.recruitment_backend.controller;
 
 import com.recruitment.recruitment_backend.dto.LoginRequest;
-import com.recruitment.recruitment_backend.model.User;
-import com.recruitment.recruitment_backend.repository.UserRepository;
+import com.recruitment.recruitment_backend.security.AccessTokenPrincipal;
+import com.recruitment.recruitment_backend.security.AccessTokenService;
+import com.recruitment.recruitment_backend.security.LoginThrottle;
+import com.recruitment.recruitment_backend.security.PasswordHashingBusyException;
 import com.recruitment.recruitment_backend.service.AuthService;
+import com.recruitment.recruitment_backend.service.UserCache;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import java.util.HashMap;
@@ -16,11 +22,19 @@ import org.springframework.web.bind.annotation.*;
 public class AuthController {
 
     private final AuthService authService;
-    private final UserRepository userRepository;
+    private final UserCache userCache;
+    private final AccessTokenService accessTokenService;
+    private final LoginThrottle loginThrottle;
 
-    public AuthController(AuthService authService, UserRepository userRepository) {
+    @Value("${auth.password.busy-retry-after-seconds:2}")
+    private int busyRetryAfterSeconds;
+
+    public AuthController(AuthService authService, UserCache userCache, AccessTokenService accessTokenService,
+                          LoginThrottle loginThrottle) {
         this.authService = authService;
-        this.userRepository = userRepository;
+        this.userCache = userCache;
+        this.accessTokenService = accessTokenService;
+        this.loginThrottle = loginThrottle;
     }
 
     /**
@@ -28,32 +42,50 @@ public class AuthController {
      * @param loginRequest username + password
      */
     @PostMapping("/login")
-    public ResponseEntity<Object> login(@RequestBody LoginRequest loginRequest) {
+    public ResponseEntity<Object> login(@RequestBody LoginRequest loginRequest, HttpServletRequest httpRequest) {
+        // The client's address; behind a trusted proxy it comes from X-Forwarded-For (server.forward-headers-strategy)
+        String address = httpRequest.getRemoteAddr();
+        // Throttled attempts are refused before any password is hashed
+        long retryAfter = loginThrottle.retryAfterSeconds(loginRequest.getUsername(), address);
+        if (retryAfter > 0) {
+            return tooManyRequests(retryAfter, "❌ Too many failed login attempts, please try again later");
+        }
+
         try {
             String response = authService.login(loginRequest);
 
             if (response.startsWith("❌")) {
+                loginThrottle.recordFailure(loginRequest.getUsername(), address);
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
             }
+            loginThrottle.recordSuccess(loginRequest.getUsername());
 
-            // Get user from database to retrieve actual role
-            User user = userRepository.findByUsername(loginRequest.getUsername())
+            // Same cached record authentication just loaded, so no second query
+            UserCache.CachedUser user = userCache.get(loginRequest.getUsername())
                     .orElseThrow(() -> new RuntimeException("User not found"));
 
+            // Everything later requests need about the caller goes into the signed token,
+            // so they are authenticated without touching the database
+            AccessTokenService.IssuedToken token = accessTokenService.issue(new AccessTokenPrincipal(
+                    user.userId(), user.username(), user.role(), user.roleId()));
+
             // Build a JSON response compatible with the frontend ApiClient's AuthResponse model
             Map<String, Object> body = new HashMap<>();
-            body.put("accessToken", "dummy-token-for-" + loginRequest.getUsername());
+            body.put("accessToken", token.token());
             body.put("tokenType", "Bearer");
-            body.put("expiresIn", 3600);
+            body.put("expiresIn", token.expiresIn());
 
             Map<String, Object> userMap = new HashMap<>();
-            userMap.put("username", user.getUsername());
-            userMap.put("name", user.getFullName());
-            userMap.put("role", user.getRole()); // Use actual role from database
+            userMap.put("id", user.userId());
+            userMap.put("username", user.username());
+            userMap.put("name", user.fullName());
+            userMap.put("role", user.role()); // Use actual role from database
 
             body.put("user", userMap);
 
             return ResponseEntity.ok(body);
+        } catch (PasswordHashingBusyException e) {
+            return tooManyRequests(busyRetryAfterSeconds, "❌ Server is busy, please try again shortly");
         } catch (Exception e) {
             return ResponseEntity
                     .status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -77,6 +109,12 @@ public class AuthController {
         }
     }
 
+    private static ResponseEntity<Object> tooManyRequests(long retryAfterSeconds, String message) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(message);
+    }
+
     @PostMapping("/logout")
     public ResponseEntity<String> logout() {
         return ResponseEntity.ok("✅ Logged out successfully");
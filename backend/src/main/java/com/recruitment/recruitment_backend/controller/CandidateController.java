@@ -1,8 +1,13 @@
 package com.recruitment.recruitment_backend.controller;
 
 import com.recruitment.recruitment_backend.dto.CandidateDTO;
+import com.recruitment.recruitment_backend.dto.CvDocumentDTO;
+import com.recruitment.recruitment_backend.security.AccessTokenPrincipal;
+import com.recruitment.recruitment_backend.security.CurrentUser;
+import com.recruitment.recruitment_backend.service.CandidateLockService;
 import com.recruitment.recruitment_backend.service.CandidateService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -18,6 +23,9 @@ public class CandidateController {
     @Autowired
     private CandidateService candidateService;
 
+    @Autowired
+    private CandidateLockService candidateLockService;
+
     // Get all candidates (HR/Admin/Rector only)
     @GetMapping(produces = "application/json; charset=UTF-8")
     public ResponseEntity<List<CandidateDTO>> getAllCandidates() {
@@ -25,6 +33,16 @@ public class CandidateController {
         return ResponseEntity.ok(candidates);
     }
 
+    // Contention metrics of the per-email/phone candidate locks (Admin only)
+    @GetMapping(value = "/lock-metrics", produces = "application/json; charset=UTF-8")
+    public ResponseEntity<?> getLockMetrics(@CurrentUser AccessTokenPrincipal caller) {
+        if (!"ADMIN".equals(caller.role()) && !"PERSONNEL_MANAGER".equals(caller.role())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("error", "Chỉ quản trị viên hoặc nhân viên HR mới có quyền xem số liệu này"));
+        }
+        return ResponseEntity.ok(candidateLockService.getMetrics());
+    }
+
     // Get candidate by ID
     @GetMapping(value = "/{id}", produces = "application/json; charset=UTF-8")
     public ResponseEntity<?> getCandidateById(@PathVariable Integer id) {
@@ -38,6 +56,24 @@ public class CandidateController {
         }
     }
 
+    // Text, word and page counts extracted from the candidate's CV; 202 while processing is pending
+    @GetMapping(value = "/{id}/cv-document", produces = "application/json; charset=UTF-8")
+    public ResponseEntity<?> getCvDocument(@PathVariable Integer id) {
+        try {
+            CvDocumentDTO document = candidateService.getCvDocument(id);
+            if (document == null) {
+                Map<String, String> response = new HashMap<>();
+                response.put("status", "PENDING");
+                return ResponseEntity.accepted().body(response);
+            }
+            return ResponseEntity.ok(document);
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+        }
+    }
+
     // Delete candidate (Admin only)
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteCandidate(@PathVariable Integer id) {
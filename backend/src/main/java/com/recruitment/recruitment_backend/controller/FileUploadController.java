@@ -1,18 +1,23 @@
 package com.recruitment.recruitment_backend.controller;
 
+import com.recruitment.recruitment_backend.security.AccessTokenPrincipal;
+import com.recruitment.recruitment_backend.security.CurrentUser;
+import com.recruitment.recruitment_backend.service.CvBatchImportService;
+import com.recruitment.recruitment_backend.service.CvColdStorageService;
+import com.recruitment.recruitment_backend.service.CvOrphanCollector;
+import com.recruitment.recruitment_backend.service.CvProcessingPipeline;
+import com.recruitment.recruitment_backend.service.CvUrlSigner;
 import com.recruitment.recruitment_backend.service.FileStorageService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.net.URI;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -21,38 +26,36 @@ import java.util.Map;
 @CrossOrigin(origins = "*")
 public class FileUploadController {
 
+    private static final String CV_ACCESS_DENIED = "Chỉ nhân viên HR mới có quyền xem CV";
+    private static final String ADMIN_ACCESS_DENIED = "Chỉ quản trị viên hoặc nhân viên HR mới có quyền thực hiện thao tác này";
+
     @Autowired
     private FileStorageService fileStorageService;
 
-    @Value("${file.upload-dir:uploads/cv}")
-    private String uploadDir;
+    @Autowired
+    private CvUrlSigner cvUrlSigner;
+
+    @Autowired
+    private CvProcessingPipeline cvProcessingPipeline;
+
+    @Autowired
+    private CvOrphanCollector cvOrphanCollector;
+
+    @Autowired
+    private CvColdStorageService cvColdStorageService;
+
+    @Autowired
+    private CvBatchImportService cvBatchImportService;
 
     // Public endpoint - Upload CV (no authentication required)
     @PostMapping("/upload-cv")
     public ResponseEntity<?> uploadCV(@RequestParam("file") MultipartFile file) {
         try {
-            // Validate file
-            if (file.isEmpty()) {
-                Map<String, String> error = new HashMap<>();
-                error.put("error", "File is empty");
-                return ResponseEntity.badRequest().body(error);
-            }
-
-            // Validate file type
-            String contentType = file.getContentType();
-            if (contentType == null || 
-                (!contentType.equals("application/pdf") && 
-                 !contentType.equals("application/msword") &&
-                 !contentType.equals("application/vnd.openxmlformats-officedocument.wordprocessingml.document"))) {
-                Map<String, String> error = new HashMap<>();
-                error.put("error", "Only PDF and Word documents are allowed");
-                return ResponseEntity.badRequest().body(error);
-            }
-
-            // Validate file size (5MB max)
-            if (file.getSize() > 5 * 1024 * 1024) {
+            // Validate file type and size
+            String validationError = fileStorageService.validateCvFile(file);
+            if (validationError != null) {
                 Map<String, String> error = new HashMap<>();
-                error.put("error", "File size must not exceed 5MB");
+                error.put("error", validationError);
                 return ResponseEntity.badRequest().body(error);
             }
 
@@ -70,33 +73,131 @@ public class FileUploadController {
         }
     }
 
-    // Public endpoint - Download CV
-    @GetMapping("/download/{fileName:.+}")
-    public ResponseEntity<Resource> downloadCV(@PathVariable String fileName) {
+    // Public endpoint - Upload CV as the raw request body, bypassing multipart buffering
+    @PostMapping(value = "/upload-cv/stream", consumes = MediaType.ALL_VALUE)
+    public ResponseEntity<?> uploadCVStream(HttpServletRequest request) {
+        // Reject declared oversize bodies before reading a single byte
+        if (request.getContentLengthLong() > FileStorageService.MAX_CV_SIZE) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "File size must not exceed 5MB");
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(error);
+        }
+
         try {
-            Path filePath = Paths.get(uploadDir).toAbsolutePath().normalize().resolve(fileName);
-            Resource resource = new UrlResource(filePath.toUri());
-
-            if (resource.exists() && resource.isReadable()) {
-                // Determine content type
-                String contentType = "application/octet-stream";
-                if (fileName.toLowerCase().endsWith(".pdf")) {
-                    contentType = "application/pdf";
-                } else if (fileName.toLowerCase().endsWith(".doc")) {
-                    contentType = "application/msword";
-                } else if (fileName.toLowerCase().endsWith(".docx")) {
-                    contentType = "application/vnd.openxmlformats-officedocument.wordprocessingml.document";
-                }
-
-                return ResponseEntity.ok()
-                        .contentType(MediaType.parseMediaType(contentType))
-                        .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + resource.getFilename() + "\"")
-                        .body(resource);
-            } else {
-                return ResponseEntity.notFound().build();
-            }
+            String filePath = fileStorageService.storeStream(request.getInputStream());
+
+            Map<String, String> response = new HashMap<>();
+            response.put("filePath", filePath);
+            response.put("message", "File uploaded successfully");
+
+            return ResponseEntity.ok(response);
         } catch (Exception e) {
-            return ResponseEntity.badRequest().build();
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Could not upload file: " + e.getMessage());
+            return ResponseEntity.badRequest().body(error);
         }
     }
+
+    // Import a ZIP of CVs sent as the raw request body, with an optional manifest.csv of
+    // candidate details (file,fullName,dateOfBirth,email,phone,position,department,address,cpa,sex) (Admin only)
+    @PostMapping(value = "/admin/import-zip", consumes = MediaType.ALL_VALUE, produces = "application/json; charset=UTF-8")
+    public ResponseEntity<?> importZip(@CurrentUser AccessTokenPrincipal caller, HttpServletRequest request) {
+        if (!isAdministrator(caller)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", ADMIN_ACCESS_DENIED));
+        }
+        try {
+            return ResponseEntity.ok(cvBatchImportService.importArchive(request.getInputStream()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Import interrupted");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(error);
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Could not import archive: " + e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
+    // Move CVs from the flat upload directory into the sharded layout (Admin only)
+    @PostMapping(value = "/admin/migrate-layout", produces = "application/json; charset=UTF-8")
+    public ResponseEntity<?> migrateLayout(@CurrentUser AccessTokenPrincipal caller) {
+        if (!isAdministrator(caller)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", ADMIN_ACCESS_DENIED));
+        }
+        try {
+            Map<String, Object> response = new HashMap<>();
+            response.put("moved", fileStorageService.migrateToShardedLayout());
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+        }
+    }
+
+    // Run the orphan CV collector now and report what it found (Admin only)
+    @PostMapping(value = "/admin/collect-orphans", produces = "application/json; charset=UTF-8")
+    public ResponseEntity<?> collectOrphans(@CurrentUser AccessTokenPrincipal caller) {
+        if (!isAdministrator(caller)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", ADMIN_ACCESS_DENIED));
+        }
+        return ResponseEntity.ok(cvOrphanCollector.collect());
+    }
+
+    // Move CVs of long-closed plans into the compressed cold tier now (Admin only)
+    @PostMapping(value = "/admin/cold-storage", produces = "application/json; charset=UTF-8")
+    public ResponseEntity<?> moveToColdStorage(@CurrentUser AccessTokenPrincipal caller) {
+        if (!isAdministrator(caller)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", ADMIN_ACCESS_DENIED));
+        }
+        return ResponseEntity.ok(cvColdStorageService.moveClosedPlansToColdStorage());
+    }
+
+    // Queue and throughput of the background CV processing pipeline (Admin only)
+    @GetMapping(value = "/admin/pipeline-metrics", produces = "application/json; charset=UTF-8")
+    public ResponseEntity<?> getPipelineMetrics(@CurrentUser AccessTokenPrincipal caller) {
+        if (!isAdministrator(caller)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", ADMIN_ACCESS_DENIED));
+        }
+        return ResponseEntity.ok(cvProcessingPipeline.getMetrics());
+    }
+
+    // Mint a signed, expiring URL for a CV (HR only; the URL itself is the credential)
+    @GetMapping(value = "/signed-url/{fileName:.+}", produces = "application/json; charset=UTF-8")
+    public ResponseEntity<?> signedUrl(@CurrentUser AccessTokenPrincipal caller, @PathVariable String fileName) {
+        if (!"PERSONNEL_MANAGER".equals(caller.role())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", CV_ACCESS_DENIED));
+        }
+        if (!FileStorageService.isValidFileName(fileName)) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Invalid file name");
+            return ResponseEntity.badRequest().body(error);
+        }
+        CvUrlSigner.SignedUrl signed = cvUrlSigner.sign(fileName);
+        Map<String, Object> response = new HashMap<>();
+        response.put("url", signed.url());
+        response.put("expiresAt", signed.expiresAt().toString());
+        return ResponseEntity.ok(response);
+    }
+
+    // Download CV (HR only): redirects to a signed URL served outside the dispatcher
+    @GetMapping("/download/{fileName:.+}")
+    public ResponseEntity<?> downloadCV(@CurrentUser AccessTokenPrincipal caller, @PathVariable String fileName) {
+        if (!"PERSONNEL_MANAGER".equals(caller.role())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", CV_ACCESS_DENIED));
+        }
+        if (!FileStorageService.isValidFileName(fileName)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.status(HttpStatus.FOUND)
+                .location(URI.create(cvUrlSigner.sign(fileName).url()))
+                .header(HttpHeaders.CACHE_CONTROL, "no-store")
+                .build();
+    }
+
+    // Operational endpoints are open to administrators and HR staff
+    private static boolean isAdministrator(AccessTokenPrincipal caller) {
+        return "ADMIN".equals(caller.role()) || "PERSONNEL_MANAGER".equals(caller.role());
+    }
 }
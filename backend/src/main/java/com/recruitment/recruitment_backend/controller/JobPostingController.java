@@ -1,13 +1,22 @@
 package com.recruitment.recruitment_backend.controller;
 
 import com.recruitment.recruitment_backend.dto.JobPostingDTO;
+import com.recruitment.recruitment_backend.service.EntityVersionRegistry;
+import com.recruitment.recruitment_backend.service.JobBoardSnapshotService;
 import com.recruitment.recruitment_backend.service.JobPostingService;
+import com.recruitment.recruitment_backend.service.JobSearchIndex;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 @RestController
@@ -18,19 +27,72 @@ public class JobPostingController {
     @Autowired
     private JobPostingService jobPostingService;
 
-    // Public endpoint - Get all active job postings (no authentication required)
+    @Autowired
+    private JobBoardSnapshotService jobBoardSnapshotService;
+
+    @Autowired
+    private JobSearchIndex jobSearchIndex;
+
+    // Public endpoint - Get all active job postings (no authentication required), served
+    // from the pre-serialized snapshot and gzipped when the client accepts it
     @GetMapping(value = "/public", produces = "application/json; charset=UTF-8")
-    public ResponseEntity<List<JobPostingDTO>> getActiveJobPostings() {
-        List<JobPostingDTO> jobs = jobPostingService.getActiveJobPostings();
-        return ResponseEntity.ok(jobs);
+    public ResponseEntity<byte[]> getActiveJobPostings(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+        // Answered from the version registry alone, before the snapshot is even looked at
+        String etag = boardEtag(jobBoardSnapshotService.currentVersion(), gzip);
+        if (EntityVersionRegistry.matchesIfNoneMatch(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+
+        JobBoardSnapshotService.Snapshot snapshot = jobBoardSnapshotService.get();
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(boardEtag(snapshot.version(), gzip))
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .cacheControl(CacheControl.noCache().cachePublic());
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(snapshot.gzip());
+        }
+        return response.body(snapshot.json());
+    }
+
+    // Public endpoint - Search open job postings by position, school, the candidate's CPA
+    // and deadline range, with result counts per position and school
+    @GetMapping(value = "/public/search", produces = "application/json; charset=UTF-8")
+    public ResponseEntity<?> searchJobPostings(
+            @RequestParam(required = false) String position,
+            @RequestParam(required = false) String school,
+            @RequestParam(required = false) Float cpa,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate deadlineFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate deadlineTo,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        if (page < 0 || size < 1 || size > 100) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "page must be >= 0 and size between 1 and 100");
+            return ResponseEntity.badRequest().body(error);
+        }
+        return ResponseEntity.ok(jobSearchIndex.search(position, school, cpa, deadlineFrom, deadlineTo, page, size));
     }
 
     // Public endpoint - Get job posting by ID
     @GetMapping(value = "/public/{id}", produces = "application/json; charset=UTF-8")
-    public ResponseEntity<?> getJobPostingById(@PathVariable Integer id) {
+    public ResponseEntity<?> getJobPostingById(@PathVariable Integer id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = "\"job-" + id + "-" + jobBoardSnapshotService.currentVersion() + "\"";
+        if (EntityVersionRegistry.matchesIfNoneMatch(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
         try {
             JobPostingDTO job = jobPostingService.getJobPostingById(id);
-            return ResponseEntity.ok(job);
+            return ResponseEntity.ok()
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache().cachePublic())
+                    .body(job);
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", e.getMessage());
@@ -60,4 +122,9 @@ public class JobPostingController {
         List<JobPostingDTO> jobs = jobPostingService.getAllJobPostings();
         return ResponseEntity.ok(jobs);
     }
+
+    // The encoded and identity bodies differ, so they must not share a strong ETag
+    private static String boardEtag(String version, boolean gzip) {
+        return "\"jobs-" + version + (gzip ? "-gzip" : "") + "\"";
+    }
 }
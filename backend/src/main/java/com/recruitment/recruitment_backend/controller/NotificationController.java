@@ -4,14 +4,16 @@ import com.recruitment.recruitment_backend.dto.NotificationRequest;
 import com.recruitment.recruitment_backend.dto.NotificationResponse;
 import com.recruitment.recruitment_backend.model.RecruitmentNotification;
 import com.recruitment.recruitment_backend.model.RecruitmentPlan;
-import com.recruitment.recruitment_backend.model.User;
 import com.recruitment.recruitment_backend.repository.RecruitmentNotificationRepository;
 import com.recruitment.recruitment_backend.repository.RecruitmentPlanRepository;
-import com.recruitment.recruitment_backend.repository.UserRepository;
+import com.recruitment.recruitment_backend.repository.UsersRepository;
+import com.recruitment.recruitment_backend.security.AccessTokenPrincipal;
+import com.recruitment.recruitment_backend.security.CurrentUser;
+import com.recruitment.recruitment_backend.service.EntityVersionRegistry;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
@@ -24,25 +26,37 @@ import java.util.stream.Collectors;
 public class NotificationController {
 
     private final RecruitmentNotificationRepository notificationRepository;
-    private final UserRepository userRepository;
+    private final UsersRepository usersRepository;
     private final RecruitmentPlanRepository planRepository;
+    private final EntityVersionRegistry entityVersionRegistry;
 
     public NotificationController(RecruitmentNotificationRepository notificationRepository,
-                                   UserRepository userRepository,
-                                   RecruitmentPlanRepository planRepository) {
+                                   UsersRepository usersRepository,
+                                   RecruitmentPlanRepository planRepository,
+                                   EntityVersionRegistry entityVersionRegistry) {
         this.notificationRepository = notificationRepository;
-        this.userRepository = userRepository;
+        this.usersRepository = usersRepository;
         this.planRepository = planRepository;
+        this.entityVersionRegistry = entityVersionRegistry;
     }
 
-    // GET all active notifications (public - for landing page)
+    // GET all active notifications (public - for landing page); revalidated against the
+    // notification version without querying anything
     @GetMapping(value = "/public", produces = "application/json; charset=UTF-8")
-    public ResponseEntity<List<NotificationResponse>> getPublicNotifications() {
+    public ResponseEntity<List<NotificationResponse>> getPublicNotifications(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = "\"notifications-" + entityVersionRegistry.version(EntityVersionRegistry.NOTIFICATIONS) + "\"";
+        if (EntityVersionRegistry.matchesIfNoneMatch(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
         List<RecruitmentNotification> notifications = notificationRepository.findByIsActiveTrueOrderByCreatedDateDesc();
         List<NotificationResponse> response = notifications.stream()
                 .map(this::convertToResponse)
                 .collect(Collectors.toList());
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePublic())
+                .body(response);
     }
 
     // GET all notifications (authenticated users)
@@ -57,15 +71,11 @@ public class NotificationController {
 
     // CREATE new notification (HR only)
     @PostMapping(consumes = "application/json; charset=UTF-8", produces = "application/json; charset=UTF-8")
-    public ResponseEntity<?> createNotification(@RequestBody NotificationRequest request) {
+    public ResponseEntity<?> createNotification(@CurrentUser AccessTokenPrincipal caller,
+                                                @RequestBody NotificationRequest request) {
         try {
-            // For now, we'll use a default HR user since we don't have JWT authentication yet
-            // In production, you should get this from the authentication token
-            User user = userRepository.findByUsername("hr")
-                    .orElseThrow(() -> new RuntimeException("HR user not found"));
-            
             // Check if user is HR (PERSONNEL_MANAGER)
-            if (!"PERSONNEL_MANAGER".equals(user.getRole())) {
+            if (!"PERSONNEL_MANAGER".equals(caller.role())) {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN)
                         .body("Chỉ nhân viên HR mới có quyền đăng thông báo");
             }
@@ -87,7 +97,7 @@ public class NotificationController {
                     .content(request.getContent())
                     .createdDate(LocalDateTime.now())
                     .isActive(true)
-                    .createdBy(user)
+                    .createdBy(usersRepository.getReferenceById(caller.userId()))
                     .plan(plan)
                     .build();
 
@@ -101,13 +111,10 @@ public class NotificationController {
 
     // UPDATE notification
     @PutMapping(value = "/{id}", consumes = "application/json; charset=UTF-8", produces = "application/json; charset=UTF-8")
-    public ResponseEntity<?> updateNotification(@PathVariable Integer id, @RequestBody NotificationRequest request) {
+    public ResponseEntity<?> updateNotification(@CurrentUser AccessTokenPrincipal caller,
+                                                @PathVariable Integer id, @RequestBody NotificationRequest request) {
         try {
-            // For now, we'll use a default HR user since we don't have JWT authentication yet
-            User user = userRepository.findByUsername("hr")
-                    .orElseThrow(() -> new RuntimeException("HR user not found"));
-            
-            if (!"PERSONNEL_MANAGER".equals(user.getRole())) {
+            if (!"PERSONNEL_MANAGER".equals(caller.role())) {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN)
                         .body("Chỉ nhân viên HR mới có quyền chỉnh sửa thông báo");
             }
@@ -128,13 +135,9 @@ public class NotificationController {
 
     // DELETE notification (permanent delete)
     @DeleteMapping("/{id}")
-    public ResponseEntity<?> deleteNotification(@PathVariable Integer id) {
+    public ResponseEntity<?> deleteNotification(@CurrentUser AccessTokenPrincipal caller, @PathVariable Integer id) {
         try {
-            // For now, we'll use a default HR user since we don't have JWT authentication yet
-            User user = userRepository.findByUsername("hr")
-                    .orElseThrow(() -> new RuntimeException("HR user not found"));
-            
-            if (!"PERSONNEL_MANAGER".equals(user.getRole())) {
+            if (!"PERSONNEL_MANAGER".equals(caller.role())) {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN)
                         .body("Chỉ nhân viên HR mới có quyền xóa thông báo");
             }
@@ -4,9 +4,11 @@ import com.recruitment.recruitment_backend.dto.PlanCreateRequest;
 import com.recruitment.recruitment_backend.dto.PlanResponse;
 import com.recruitment.recruitment_backend.dto.PlanUpdateRequest;
 import com.recruitment.recruitment_backend.model.RecruitmentPlan;
-import com.recruitment.recruitment_backend.model.UnitManager;
 import com.recruitment.recruitment_backend.repository.RecruitmentPlanRepository;
+import com.recruitment.recruitment_backend.repository.RectorRepository;
 import com.recruitment.recruitment_backend.repository.UnitManagerRepository;
+import com.recruitment.recruitment_backend.security.AccessTokenPrincipal;
+import com.recruitment.recruitment_backend.security.CurrentUser;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -23,11 +25,14 @@ public class PlansController {
 
     private final RecruitmentPlanRepository planRepository;
     private final UnitManagerRepository unitManagerRepository;
+    private final RectorRepository rectorRepository;
 
     public PlansController(RecruitmentPlanRepository planRepository, 
-                          UnitManagerRepository unitManagerRepository) {
+                          UnitManagerRepository unitManagerRepository,
+                          RectorRepository rectorRepository) {
         this.planRepository = planRepository;
         this.unitManagerRepository = unitManagerRepository;
+        this.rectorRepository = rectorRepository;
     }
 
     // GET all plans
@@ -50,12 +55,14 @@ public class PlansController {
 
     // CREATE new plan
     @PostMapping(consumes = "application/json; charset=UTF-8", produces = "application/json; charset=UTF-8")
-    public ResponseEntity<PlanResponse> createPlan(@RequestBody PlanCreateRequest request) {
-        // Get first UnitManager as default creator (simplified)
-        UnitManager creator = unitManagerRepository.findAll().stream()
-                .findFirst()
-                .orElseThrow(() -> new RuntimeException("No unit manager found"));
-        
+    public ResponseEntity<?> createPlan(@CurrentUser AccessTokenPrincipal caller,
+                                        @RequestBody PlanCreateRequest request) {
+        // Plans are created by the calling unit manager, whose row shares the user's id
+        if (!"UNIT_MANAGER".equals(caller.role()) || caller.roleId() == null) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(new ErrorResponse("Chỉ trưởng đơn vị mới có quyền tạo kế hoạch tuyển dụng"));
+        }
+
         RecruitmentPlan plan = RecruitmentPlan.builder()
                 .title(request.getTitle())
                 .position(request.getPosition())
@@ -63,7 +70,7 @@ public class PlansController {
                 .quantity(request.getQuantity())
                 .cpa(request.getCpa().floatValue())
                 .creatDate(request.getCreatDate() != null ? request.getCreatDate() : LocalDate.now())
-                .createdBy(creator)
+                .createdBy(unitManagerRepository.getReferenceById(caller.roleId()))
                 .status("Pending")
                 .build();
 
@@ -139,12 +146,15 @@ public class PlansController {
 
     // APPROVE plan
     @PutMapping(value = "/{id}/approve", produces = "application/json; charset=UTF-8")
-    public ResponseEntity<PlanResponse> approvePlan(@PathVariable Integer id) {
+    public ResponseEntity<PlanResponse> approvePlan(@CurrentUser(required = false) AccessTokenPrincipal caller,
+                                                    @PathVariable Integer id) {
         return planRepository.findById(id)
                 .map(plan -> {
                     plan.setStatus("Approved");
                     plan.setApprovDate(LocalDate.now());
-                    // TODO: Set approvedBy to current logged-in rector
+                    if (caller != null && "RECTOR".equals(caller.role()) && caller.roleId() != null) {
+                        plan.setApprovedBy(rectorRepository.getReferenceById(caller.roleId()));
+                    }
                     RecruitmentPlan updated = planRepository.save(plan);
                     return ResponseEntity.ok(convertToResponse(updated));
                 })
@@ -153,12 +163,15 @@ public class PlansController {
 
     // REJECT plan
     @PutMapping(value = "/{id}/reject", produces = "application/json; charset=UTF-8")
-    public ResponseEntity<PlanResponse> rejectPlan(@PathVariable Integer id) {
+    public ResponseEntity<PlanResponse> rejectPlan(@CurrentUser(required = false) AccessTokenPrincipal caller,
+                                                    @PathVariable Integer id) {
         return planRepository.findById(id)
                 .map(plan -> {
                     plan.setStatus("Rejected");
                     plan.setApprovDate(LocalDate.now());
-                    // TODO: Set approvedBy to current logged-in rector
+                    if (caller != null && "RECTOR".equals(caller.role()) && caller.roleId() != null) {
+                        plan.setApprovedBy(rectorRepository.getReferenceById(caller.roleId()));
+                    }
                     RecruitmentPlan updated = planRepository.save(plan);
                     return ResponseEntity.ok(convertToResponse(updated));
                 })
@@ -0,0 +1,132 @@
+package com.recruitment.recruitment_backend.controller;
+
+import com.recruitment.recruitment_backend.service.FileStorageService;
+import com.recruitment.recruitment_backend.service.ResumableUploadService;
+import com.recruitment.recruitment_backend.service.ResumableUploadService.UploadSession;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Resumable CV upload: POST creates a session, PATCH sends chunks at the offset given in
+ * the Upload-Offset header, HEAD/GET report the current offset after a dropped connection,
+ * and POST .../complete stores the file exactly like /api/files/upload-cv.
+ */
+@RestController
+@RequestMapping("/api/files/uploads")
+@CrossOrigin(origins = "*", exposedHeaders = {ResumableUploadController.UPLOAD_OFFSET, ResumableUploadController.UPLOAD_LENGTH})
+public class ResumableUploadController {
+
+    static final String UPLOAD_OFFSET = "Upload-Offset";
+    static final String UPLOAD_LENGTH = "Upload-Length";
+
+    @Autowired
+    private ResumableUploadService resumableUploadService;
+
+    // Public endpoint - Open an upload session for a file of the given length
+    @PostMapping
+    public ResponseEntity<?> createSession(@RequestHeader(value = UPLOAD_LENGTH, required = false) Long headerLength,
+                                           @RequestBody(required = false) Map<String, Long> body,
+                                           HttpServletRequest request) {
+        Long length = headerLength != null ? headerLength : body != null ? body.get("length") : null;
+        if (length == null) {
+            return error(HttpStatus.BAD_REQUEST, "Upload length is required");
+        }
+        if (length > FileStorageService.MAX_CV_SIZE) {
+            return error(HttpStatus.PAYLOAD_TOO_LARGE, "File size must not exceed 5MB");
+        }
+        try {
+            UploadSession session = resumableUploadService.create(length, request.getRemoteAddr());
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .header(UPLOAD_OFFSET, "0")
+                    .header(UPLOAD_LENGTH, String.valueOf(length))
+                    .body(toResponse(session));
+        } catch (ResumableUploadService.SessionLimitException e) {
+            return error(HttpStatus.TOO_MANY_REQUESTS, e.getMessage());
+        } catch (Exception e) {
+            return error(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    // Public endpoint - Current offset, so an interrupted client knows where to resume
+    @RequestMapping(value = "/{uploadId}", method = {RequestMethod.GET, RequestMethod.HEAD})
+    public ResponseEntity<?> getOffset(@PathVariable String uploadId) {
+        UploadSession session = resumableUploadService.get(uploadId);
+        if (session == null) {
+            return error(HttpStatus.NOT_FOUND, "Upload session not found");
+        }
+        return ResponseEntity.ok()
+                .header(UPLOAD_OFFSET, String.valueOf(session.getOffset()))
+                .header(UPLOAD_LENGTH, String.valueOf(session.getLength()))
+                .header("Cache-Control", "no-store")
+                .body(toResponse(session));
+    }
+
+    // Public endpoint - Append the raw request body at Upload-Offset
+    @PatchMapping(value = "/{uploadId}", consumes = MediaType.ALL_VALUE)
+    public ResponseEntity<?> appendChunk(@PathVariable String uploadId,
+                                         @RequestHeader(UPLOAD_OFFSET) long offset,
+                                         HttpServletRequest request) {
+        if (resumableUploadService.get(uploadId) == null) {
+            return error(HttpStatus.NOT_FOUND, "Upload session not found");
+        }
+        try {
+            long newOffset = resumableUploadService.append(uploadId, offset, request.getInputStream());
+            return ResponseEntity.noContent()
+                    .header(UPLOAD_OFFSET, String.valueOf(newOffset))
+                    .build();
+        } catch (IllegalStateException e) {
+            return error(HttpStatus.CONFLICT, e.getMessage());
+        } catch (Exception e) {
+            return error(HttpStatus.BAD_REQUEST, "Could not upload chunk: " + e.getMessage());
+        }
+    }
+
+    // Public endpoint - Store the completed upload and return its path for the application
+    @PostMapping("/{uploadId}/complete")
+    public ResponseEntity<?> complete(@PathVariable String uploadId) {
+        if (resumableUploadService.get(uploadId) == null) {
+            return error(HttpStatus.NOT_FOUND, "Upload session not found");
+        }
+        try {
+            String filePath = resumableUploadService.complete(uploadId);
+
+            Map<String, String> response = new HashMap<>();
+            response.put("filePath", filePath);
+            response.put("message", "File uploaded successfully");
+
+            return ResponseEntity.ok(response);
+        } catch (IllegalStateException e) {
+            return error(HttpStatus.CONFLICT, e.getMessage());
+        } catch (Exception e) {
+            return error(HttpStatus.BAD_REQUEST, "Could not upload file: " + e.getMessage());
+        }
+    }
+
+    // Public endpoint - Abandon an upload session
+    @DeleteMapping("/{uploadId}")
+    public ResponseEntity<Void> cancel(@PathVariable String uploadId) {
+        resumableUploadService.cancel(uploadId);
+        return ResponseEntity.noContent().build();
+    }
+
+    private static Map<String, Object> toResponse(UploadSession session) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("uploadId", session.getId());
+        response.put("length", session.getLength());
+        response.put("offset", session.getOffset());
+        return response;
+    }
+
+    private static ResponseEntity<Map<String, String>> error(HttpStatus status, String message) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", message);
+        return ResponseEntity.status(status).body(error);
+    }
+}
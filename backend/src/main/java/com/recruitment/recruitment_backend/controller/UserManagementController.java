@@ -6,12 +6,20 @@ import com.recruitment.recruitment_backend.model.User;
 import com.recruitment.recruitment_backend.model.UnitManager;
 import com.recruitment.recruitment_backend.repository.UsersRepository;
 import com.recruitment.recruitment_backend.repository.UnitManagerRepository;
+import com.recruitment.recruitment_backend.security.AccessTokenPrincipal;
+import com.recruitment.recruitment_backend.security.CurrentUser;
+import com.recruitment.recruitment_backend.security.PasswordHashingBusyException;
+import com.recruitment.recruitment_backend.service.UserCache;
+import com.recruitment.recruitment_backend.service.UserService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @RestController
@@ -22,13 +30,22 @@ public class UserManagementController {
     private final UsersRepository usersRepository;
     private final UnitManagerRepository unitManagerRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UserService userService;
+    private final UserCache userCache;
+
+    @Value("${auth.password.busy-retry-after-seconds:2}")
+    private int busyRetryAfterSeconds;
 
     public UserManagementController(UsersRepository usersRepository, 
                                    UnitManagerRepository unitManagerRepository,
-                                   PasswordEncoder passwordEncoder) {
+                                   PasswordEncoder passwordEncoder,
+                                   UserService userService,
+                                   UserCache userCache) {
         this.usersRepository = usersRepository;
         this.unitManagerRepository = unitManagerRepository;
         this.passwordEncoder = passwordEncoder;
+        this.userService = userService;
+        this.userCache = userCache;
     }
 
     /**
@@ -110,6 +127,8 @@ public class UserManagementController {
             unitManagerRepository.save(unitManager);
 
             return ResponseEntity.status(HttpStatus.CREATED).body(convertToDTO(savedUser));
+        } catch (PasswordHashingBusyException e) {
+            return passwordHashingBusy();
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body("Lỗi khi tạo người dùng: " + e.getMessage());
@@ -138,9 +157,12 @@ public class UserManagementController {
                         }
 
                         User updatedUser = usersRepository.save(user);
+                        userCache.invalidate(updatedUser.getUsername());
                         return ResponseEntity.<Object>ok(convertToDTO(updatedUser));
                     })
                     .orElse(ResponseEntity.notFound().build());
+        } catch (PasswordHashingBusyException e) {
+            return passwordHashingBusy();
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body("Lỗi khi cập nhật người dùng: " + e.getMessage());
@@ -160,7 +182,7 @@ public class UserManagementController {
                             return ResponseEntity.status(HttpStatus.FORBIDDEN)
                                     .body("Chỉ được phép xóa tài khoản Trưởng đơn vị (UNIT_MANAGER)");
                         }
-                        usersRepository.deleteById(id);
+                        userService.deleteUnitManager(user);
                         return ResponseEntity.ok("Xóa người dùng thành công");
                     })
                     .orElse(ResponseEntity.notFound().build());
@@ -170,6 +192,27 @@ public class UserManagementController {
         }
     }
 
+    /**
+     * Size and hit/miss counters of the user cache
+     */
+    @GetMapping(value = "/cache-stats", produces = "application/json; charset=UTF-8")
+    public ResponseEntity<?> getCacheStats(@CurrentUser AccessTokenPrincipal caller) {
+        if (!"ADMIN".equals(caller.role()) && !"PERSONNEL_MANAGER".equals(caller.role())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body("Chỉ quản trị viên hoặc nhân viên HR mới có quyền xem số liệu này");
+        }
+        return ResponseEntity.ok(userCache.stats());
+    }
+
+    /**
+     * Password hashing is saturated; nothing was saved
+     */
+    private ResponseEntity<Object> passwordHashingBusy() {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(busyRetryAfterSeconds))
+                .body("Hệ thống đang quá tải, vui lòng thử lại sau");
+    }
+
     /**
      * Convert User entity to DTO (without password)
      */
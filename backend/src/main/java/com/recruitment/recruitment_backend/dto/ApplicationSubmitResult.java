@@ -0,0 +1,13 @@
+package com.recruitment.recruitment_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApplicationSubmitResult {
+    private Integer applicationID;
+    private String error;
+}
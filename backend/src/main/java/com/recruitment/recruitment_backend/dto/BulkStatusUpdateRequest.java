@@ -0,0 +1,17 @@
+package com.recruitment.recruitment_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStatusUpdateRequest {
+    private List<Integer> applicationIDs; // Explicit ids to update
+    private Integer planID; // Filter: applications of this plan (used when applicationIDs is empty)
+    private String currentStatus; // Filter: only applications currently in this status
+    private String status; // Target status
+}
@@ -0,0 +1,23 @@
+package com.recruitment.recruitment_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CvDocumentDTO {
+    private String cvPath;
+    private String status;
+    private String fileType;
+    private Long sizeBytes;
+    private String sha256;
+    private Integer wordCount;
+    private Integer pageCount;
+    private String extractedText;
+    private String error;
+    private Instant processedAt;
+}
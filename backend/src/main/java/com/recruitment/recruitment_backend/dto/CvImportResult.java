@@ -0,0 +1,15 @@
+package com.recruitment.recruitment_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CvImportResult {
+    private String entry;
+    private String filePath;
+    private Integer candidateID;
+    private String error;
+}
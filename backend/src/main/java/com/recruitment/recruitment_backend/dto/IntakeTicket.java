@@ -0,0 +1,23 @@
+package com.recruitment.recruitment_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IntakeTicket {
+    public static final String QUEUED = "QUEUED";
+    public static final String COMPLETED = "COMPLETED";
+    public static final String FAILED = "FAILED";
+
+    private String ticketId;
+    private String status;
+    private Integer applicationID; // Set once the submission has been written
+    private String error;
+    private LocalDateTime submittedAt;
+    private LocalDateTime completedAt;
+}
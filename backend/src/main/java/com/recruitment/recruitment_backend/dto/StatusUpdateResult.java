@@ -0,0 +1,14 @@
+package com.recruitment.recruitment_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatusUpdateResult {
+    private Integer applicationID;
+    private boolean updated;
+    private String error;
+}
@@ -11,6 +11,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -19,7 +20,8 @@ import lombok.Setter;
 import lombok.ToString;
 
 @Entity
-@Table(name = "Applications")
+@Table(name = "Applications", uniqueConstraints = @UniqueConstraint(
+        name = "UK_applications_candidate_position", columnNames = {"candidateID", "positionID"}))
 @Getter 
 @Setter 
 @ToString(exclude = {"candidate", "position"}) 
@@ -0,0 +1,89 @@
+package com.recruitment.recruitment_backend.model;
+
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * Denormalized read model of an {@link Application} for the HR review list.
+ * Kept in sync by ApplicationService in the same transaction as the write, and by
+ * ApplicationSummaryListener when a candidate or position is edited.
+ * <p>
+ * The id is the application's, so it is always assigned; {@link Persistable} lets
+ * save() insert new rows directly instead of merging, which would SELECT first.
+ */
+@Entity
+@Table(name = "ApplicationSummaries")
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+
+public class ApplicationSummary implements Persistable<Integer> {
+    @Id
+    private Integer applicationID;
+
+    @Column(nullable = false)
+    private LocalDate applyDate;
+
+    @Column(length = 20)
+    private String status;
+
+    @Column(nullable = false)
+    private Integer candidateID;
+
+    @Column(nullable = false, length = 50)
+    private String candidateName;
+
+    @Column(nullable = false, length = 50)
+    private String candidateEmail;
+
+    @Column(nullable = false)
+    private Float candidateCpa;
+
+    @Column(nullable = false)
+    private Integer positionID;
+
+    @Column(nullable = false, length = 50)
+    private String positionTitle;
+
+    @Column(nullable = false)
+    private Integer planID;
+
+    @Transient
+    @Builder.Default
+    @Getter(lombok.AccessLevel.NONE)
+    @Setter(lombok.AccessLevel.NONE)
+    private boolean newSummary = true;
+
+    @Override
+    public Integer getId() {
+        return applicationID;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newSummary;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        newSummary = false;
+    }
+}
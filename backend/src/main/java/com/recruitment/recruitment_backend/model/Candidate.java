@@ -4,6 +4,7 @@ import java.time.LocalDate;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.Id;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -15,7 +16,10 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
 
+import com.recruitment.recruitment_backend.service.ApplicationSummaryListener;
+
 @Entity
+@EntityListeners(ApplicationSummaryListener.class)
 @Table(name = "Candidates")
 @Getter
 @Setter 
@@ -0,0 +1,63 @@
+package com.recruitment.recruitment_backend.model;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * What the CV processing pipeline learned about a stored CV. Keyed by the stored path,
+ * the same value as {@link Candidate#getCvPath()}.
+ */
+@Entity
+@Table(name = "CvDocuments")
+@Getter
+@Setter
+@ToString(exclude = "extractedText")
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+
+public class CvDocument {
+    public static final String STATUS_PROCESSED = "PROCESSED";
+    public static final String STATUS_REJECTED = "REJECTED";
+    public static final String STATUS_MISSING = "MISSING";
+    public static final String STATUS_FAILED = "FAILED";
+
+    @Id
+    @Column(length = 255)
+    private String cvPath;
+
+    @Column(nullable = false, length = 20)
+    private String status;
+
+    @Column(length = 10)
+    private String fileType;
+
+    private Long sizeBytes;
+
+    @Column(length = 64)
+    private String sha256;
+
+    private Integer wordCount;
+
+    private Integer pageCount;
+
+    // Only DOCX text is extracted; PDF and DOC need a parser outside the JDK
+    @Column(columnDefinition = "NVARCHAR(MAX)")
+    private String extractedText;
+
+    @Column(length = 255)
+    private String error;
+
+    @Column(nullable = false)
+    private Instant processedAt;
+}
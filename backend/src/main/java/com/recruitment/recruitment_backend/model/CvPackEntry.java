@@ -0,0 +1,52 @@
+package com.recruitment.recruitment_backend.model;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Location of a cold CV inside a pack file: a single gzip member starting at
+ * {@code packOffset}. The original size and modification time are kept so the
+ * download ETag does not change when a CV moves to the cold tier.
+ */
+@Entity
+@Table(name = "CvPackEntries")
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+
+public class CvPackEntry {
+    @Id
+    @Column(length = 100)
+    private String fileName;
+
+    @Column(nullable = false, length = 64)
+    private String packName;
+
+    @Column(nullable = false)
+    private Long packOffset;
+
+    @Column(nullable = false)
+    private Long compressedLength;
+
+    @Column(nullable = false)
+    private Long originalLength;
+
+    @Column(nullable = false)
+    private Instant originalModified;
+
+    @Column(nullable = false)
+    private Instant packedAt;
+}
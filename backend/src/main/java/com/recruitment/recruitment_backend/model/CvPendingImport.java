@@ -0,0 +1,36 @@
+package com.recruitment.recruitment_backend.model;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * A CV stored by a ZIP import that no candidate references yet, kept from the orphan
+ * collector until it is attached or the entry expires.
+ */
+@Entity
+@Table(name = "CvPendingImports")
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+
+public class CvPendingImport {
+    @Id
+    @Column(length = 255)
+    private String cvPath;
+
+    @Column(nullable = false)
+    private Instant importedAt;
+}
@@ -2,6 +2,7 @@ package com.recruitment.recruitment_backend.model;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
 import jakarta.persistence.GeneratedValue;
@@ -16,7 +17,11 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
 
+import com.recruitment.recruitment_backend.service.ApplicationSummaryListener;
+import com.recruitment.recruitment_backend.service.JobPositionIndexListener;
+
 @Entity
+@EntityListeners({JobPositionIndexListener.class, ApplicationSummaryListener.class})
 @Table(name = "JobPositions")
 @Getter 
 @Setter 
@@ -1,11 +1,13 @@
 package com.recruitment.recruitment_backend.model;
 
+import com.recruitment.recruitment_backend.service.EntityVersionListener;
 import jakarta.persistence.*;
 import lombok.*;
 
 import java.time.LocalDateTime;
 
 @Entity
+@EntityListeners(EntityVersionListener.class)
 @Table(name = "recruitment_notifications")
 @Getter
 @Setter
@@ -4,6 +4,7 @@ import java.time.LocalDate;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -18,7 +19,11 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
 
+import com.recruitment.recruitment_backend.service.EntityVersionListener;
+import com.recruitment.recruitment_backend.service.JobPositionIndexListener;
+
 @Entity
+@EntityListeners({JobPositionIndexListener.class, EntityVersionListener.class})
 @Table(name = "RecruitmentPlan")
 @Getter
 @Setter
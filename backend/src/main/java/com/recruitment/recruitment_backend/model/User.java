@@ -14,8 +14,8 @@ import java.util.List;
 @Table(name = "Users")
 @Getter
 @Setter
-@ToString(exclude = {"password", "admin", "rector", "unitManager", "personnelManager"}) 
-@EqualsAndHashCode(exclude = {"password", "admin", "rector", "unitManager", "personnelManager"})
+@ToString(exclude = {"password"}) 
+@EqualsAndHashCode(exclude = {"password"})
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
@@ -51,17 +51,9 @@ public class User implements UserDetails {
     @Column(nullable = false, length = 10)
     private String sex;
 
-    @OneToOne(mappedBy = "user", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
-    private Admin admin;
-
-    @OneToOne(mappedBy = "user", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
-    private Rector rector;
-
-    @OneToOne(mappedBy = "user", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
-    private UnitManager unitManager;
-
-    @OneToOne(mappedBy = "user", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
-    private PersonnelManager personnelManager;
+    // Role subtypes (Admin, Rector, UnitManager, PersonnelManager) are mapped only on
+    // their owning side. An inverse one-to-one cannot be lazy, so mapping them here made
+    // every User load run one extra select per role; look them up by userID instead.
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
@@ -0,0 +1,9 @@
+package com.recruitment.recruitment_backend.repository;
+
+import com.recruitment.recruitment_backend.model.Admin;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface AdminRepository extends JpaRepository<Admin, Integer> {
+}
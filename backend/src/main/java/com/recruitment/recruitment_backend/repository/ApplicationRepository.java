@@ -2,12 +2,19 @@ package com.recruitment.recruitment_backend.repository;
 
 import com.recruitment.recruitment_backend.model.Application;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface ApplicationRepository extends JpaRepository<Application, Integer> {
+public interface ApplicationRepository extends JpaRepository<Application, Integer>, ApplicationRepositoryCustom {
     List<Application> findByCandidateCandidateID(Integer candidateID);
     List<Application> findByStatus(String status);
+
+    // Pairs of (candidate email, position id) already applied for
+    @Query("SELECT c.email, a.position.positionID FROM Application a JOIN a.candidate c WHERE c.email IN :emails")
+    List<Object[]> findAppliedPositionsByEmails(@Param("emails") Collection<String> emails);
 }
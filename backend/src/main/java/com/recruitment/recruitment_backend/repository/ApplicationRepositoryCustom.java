@@ -0,0 +1,14 @@
+package com.recruitment.recruitment_backend.repository;
+
+import com.recruitment.recruitment_backend.model.Application;
+
+import java.util.List;
+
+public interface ApplicationRepositoryCustom {
+
+    /**
+     * Insert all applications with one multi-row statement per 500 rows and set their
+     * generated ids. Each application's candidate and position must carry their ids.
+     */
+    void insertAll(List<Application> applications);
+}
@@ -0,0 +1,62 @@
+package com.recruitment.recruitment_backend.repository;
+
+import com.recruitment.recruitment_backend.model.Application;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Multi-row application inserts that hand back the identity values, keyed by the
+ * unique (candidate, position) pair, which JDBC batching cannot do for identity columns.
+ */
+public class ApplicationRepositoryCustomImpl implements ApplicationRepositoryCustom {
+
+    private static final String INSERT_COLUMNS = "INSERT INTO applications (apply_date, status, candidateid, positionid)";
+    private static final String VALUES_ROW = "(?, ?, ?, ?)";
+    // SQL Server accepts at most 2100 parameters per statement
+    private static final int MAX_INSERT_ROWS = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NativeDialect dialect;
+
+    public ApplicationRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dialect = new NativeDialect(jdbcTemplate);
+    }
+
+    @Override
+    public void insertAll(List<Application> applications) {
+        boolean postgres = dialect.isPostgres();
+        for (int from = 0; from < applications.size(); from += MAX_INSERT_ROWS) {
+            List<Application> rows = applications.subList(from, Math.min(applications.size(), from + MAX_INSERT_ROWS));
+            String values = String.join(", ", Collections.nCopies(rows.size(), VALUES_ROW));
+            String sql = postgres
+                    ? INSERT_COLUMNS + " VALUES " + values + " RETURNING applicationid, candidateid, positionid"
+                    : INSERT_COLUMNS + " OUTPUT inserted.applicationid, inserted.candidateid, inserted.positionid VALUES " + values;
+
+            List<Object> args = new ArrayList<>(rows.size() * 4);
+            Map<Long, Application> byPair = new HashMap<>();
+            for (Application application : rows) {
+                Integer candidateID = application.getCandidate().getCandidateID();
+                Integer positionID = application.getPosition().getPositionID();
+                args.add(application.getApplyDate());
+                args.add(application.getStatus());
+                args.add(candidateID);
+                args.add(positionID);
+                byPair.put(pair(candidateID, positionID), application);
+            }
+            jdbcTemplate.query(sql, rs -> {
+                byPair.get(pair(rs.getInt("candidateid"), rs.getInt("positionid")))
+                        .setApplicationID(rs.getInt("applicationid"));
+            }, args.toArray());
+        }
+    }
+
+    private static long pair(int candidateID, int positionID) {
+        return ((long) candidateID << 32) | (positionID & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,25 @@
+package com.recruitment.recruitment_backend.repository;
+
+import com.recruitment.recruitment_backend.model.ApplicationSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ApplicationSummaryRepository extends JpaRepository<ApplicationSummary, Integer> {
+    List<ApplicationSummary> findByStatus(String status);
+
+    @Modifying
+    @Query("UPDATE ApplicationSummary s SET s.status = :status WHERE s.applicationID = :applicationID")
+    int updateStatus(@Param("applicationID") Integer applicationID, @Param("status") String status);
+
+    @Modifying
+    @Query("UPDATE ApplicationSummary s SET s.candidateName = :name, s.candidateEmail = :email, s.candidateCpa = :cpa "
+            + "WHERE s.candidateID = :candidateID")
+    int updateCandidate(@Param("candidateID") Integer candidateID, @Param("name") String name,
+                        @Param("email") String email, @Param("cpa") Float cpa);
+}
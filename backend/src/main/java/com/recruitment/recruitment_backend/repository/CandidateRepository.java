@@ -2,12 +2,41 @@ package com.recruitment.recruitment_backend.repository;
 
 import com.recruitment.recruitment_backend.model.Candidate;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface CandidateRepository extends JpaRepository<Candidate, Integer> {
+public interface CandidateRepository extends JpaRepository<Candidate, Integer>, CandidateRepositoryCustom {
     Optional<Candidate> findByEmail(String email);
     Optional<Candidate> findByPhone(String phone);
+
+    @Query("SELECT c.email FROM Candidate c WHERE c.phone = :phone")
+    Optional<String> findEmailByPhone(@Param("phone") String phone);
+
+    // Pairs of (phone, email)
+    @Query("SELECT c.phone, c.email FROM Candidate c WHERE c.phone IN :phones")
+    List<Object[]> findEmailsByPhones(@Param("phones") Collection<String> phones);
+
+    @Query("SELECT c.email FROM Candidate c WHERE c.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @Query("SELECT c.phone FROM Candidate c WHERE c.phone IN :phones")
+    List<String> findExistingPhones(@Param("phones") Collection<String> phones);
+
+    @Query("SELECT DISTINCT c.cvPath FROM Candidate c WHERE c.cvPath IN :cvPaths")
+    List<String> findReferencedCvPaths(@Param("cvPaths") Collection<String> cvPaths);
+
+    // CVs whose candidate only applied to approved plans that closed before the cutoff
+    @Query("SELECT DISTINCT c.cvPath FROM Application a JOIN a.candidate c JOIN a.position jp JOIN jp.plan p " +
+           "WHERE c.cvPath IS NOT NULL AND p.status = 'Approved' AND p.approvDate < :cutoff " +
+           "AND NOT EXISTS (SELECT post FROM JobPosting post WHERE post.plan = p AND post.deadline >= :cutoff) " +
+           "AND NOT EXISTS (SELECT a2 FROM Application a2 JOIN a2.position jp2 JOIN jp2.plan p2 " +
+           "WHERE a2.candidate = c AND (p2.status <> 'Approved' OR p2.approvDate IS NULL OR p2.approvDate >= :cutoff))")
+    List<String> findCvPathsOfPlansClosedBefore(@Param("cutoff") LocalDate cutoff);
 }
@@ -0,0 +1,33 @@
+package com.recruitment.recruitment_backend.repository;
+
+import com.recruitment.recruitment_backend.model.Candidate;
+
+import java.util.List;
+import java.util.Map;
+
+public interface CandidateRepositoryCustom {
+
+    /**
+     * Insert the candidate, or overwrite the existing row with the same email,
+     * in a single statement. A null cvPath keeps the existing row's CV. The phone is
+     * written as given, so callers check it is not another candidate's first.
+     */
+    UpsertResult upsertByEmail(Candidate candidate);
+
+    /**
+     * Insert all candidates with one multi-row statement; the batch succeeds or fails
+     * as a whole.
+     * @return the generated ids keyed by email
+     */
+    Map<String, Integer> insertAll(List<Candidate> candidates);
+
+    /**
+     * Upsert all candidates by email with one multi-row statement per 200 rows, with
+     * the same column rules as {@link #upsertByEmail}. Emails must be distinct.
+     * @return the results keyed by lower-cased email
+     */
+    Map<String, UpsertResult> upsertAllByEmail(List<Candidate> candidates);
+
+    record UpsertResult(Integer candidateID, boolean created) {
+    }
+}
@@ -0,0 +1,181 @@
+package com.recruitment.recruitment_backend.repository;
+
+import com.recruitment.recruitment_backend.model.Candidate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Native upsert for candidates keyed on the unique email column. Uses
+ * {@code INSERT ... ON CONFLICT} on PostgreSQL and {@code MERGE} on SQL Server.
+ * A returning candidate who sends no CV keeps the one on file.
+ * Batch inserts use a multi-row {@code VALUES} list that hands back the identity
+ * values, which JDBC batching cannot do for identity columns.
+ */
+public class CandidateRepositoryCustomImpl implements CandidateRepositoryCustom {
+
+    private static final String POSTGRES_UPSERT = """
+            INSERT INTO candidates (full_name, date_of_birth, email, phone, position, department, address, cpa, sex, cv_path)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (email) DO UPDATE SET
+                full_name = EXCLUDED.full_name,
+                date_of_birth = EXCLUDED.date_of_birth,
+                phone = EXCLUDED.phone,
+                position = EXCLUDED.position,
+                department = EXCLUDED.department,
+                address = EXCLUDED.address,
+                cpa = EXCLUDED.cpa,
+                sex = EXCLUDED.sex,
+                cv_path = COALESCE(EXCLUDED.cv_path, candidates.cv_path)
+            RETURNING candidateid, (xmax = 0) AS created
+            """;
+
+    private static final String SQL_SERVER_UPSERT = """
+            MERGE candidates WITH (HOLDLOCK) AS t
+            USING (SELECT ? AS full_name, ? AS date_of_birth, ? AS email, ? AS phone, ? AS position,
+                          ? AS department, ? AS address, ? AS cpa, ? AS sex, ? AS cv_path) AS s
+            ON t.email = s.email
+            WHEN MATCHED THEN UPDATE SET
+                full_name = s.full_name,
+                date_of_birth = s.date_of_birth,
+                phone = s.phone,
+                position = s.position,
+                department = s.department,
+                address = s.address,
+                cpa = s.cpa,
+                sex = s.sex,
+                cv_path = COALESCE(s.cv_path, t.cv_path)
+            WHEN NOT MATCHED THEN
+                INSERT (full_name, date_of_birth, email, phone, position, department, address, cpa, sex, cv_path)
+                VALUES (s.full_name, s.date_of_birth, s.email, s.phone, s.position, s.department, s.address, s.cpa, s.sex, s.cv_path)
+            OUTPUT inserted.candidateid, CASE WHEN $action = 'INSERT' THEN 1 ELSE 0 END AS created;
+            """;
+
+    private static final String POSTGRES_UPSERT_ALL = """
+            INSERT INTO candidates (full_name, date_of_birth, email, phone, position, department, address, cpa, sex, cv_path)
+            VALUES %s
+            ON CONFLICT (email) DO UPDATE SET
+                full_name = EXCLUDED.full_name,
+                date_of_birth = EXCLUDED.date_of_birth,
+                phone = EXCLUDED.phone,
+                position = EXCLUDED.position,
+                department = EXCLUDED.department,
+                address = EXCLUDED.address,
+                cpa = EXCLUDED.cpa,
+                sex = EXCLUDED.sex,
+                cv_path = COALESCE(EXCLUDED.cv_path, candidates.cv_path)
+            RETURNING candidateid, email, (xmax = 0) AS created
+            """;
+
+    private static final String SQL_SERVER_UPSERT_ALL = """
+            MERGE candidates WITH (HOLDLOCK) AS t
+            USING (VALUES %s) AS s (full_name, date_of_birth, email, phone, position,
+                                    department, address, cpa, sex, cv_path)
+            ON t.email = s.email
+            WHEN MATCHED THEN UPDATE SET
+                full_name = s.full_name,
+                date_of_birth = s.date_of_birth,
+                phone = s.phone,
+                position = s.position,
+                department = s.department,
+                address = s.address,
+                cpa = s.cpa,
+                sex = s.sex,
+                cv_path = COALESCE(s.cv_path, t.cv_path)
+            WHEN NOT MATCHED THEN
+                INSERT (full_name, date_of_birth, email, phone, position, department, address, cpa, sex, cv_path)
+                VALUES (s.full_name, s.date_of_birth, s.email, s.phone, s.position, s.department, s.address, s.cpa, s.sex, s.cv_path)
+            OUTPUT inserted.candidateid, inserted.email, CASE WHEN $action = 'INSERT' THEN 1 ELSE 0 END AS created;
+            """;
+
+    private static final String INSERT_COLUMNS =
+            "INSERT INTO candidates (full_name, date_of_birth, email, phone, position, department, address, cpa, sex, cv_path)";
+    private static final String VALUES_ROW = "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    // SQL Server accepts at most 2100 parameters per statement
+    private static final int MAX_INSERT_ROWS = 200;
+
+    private static final RowMapper<UpsertResult> RESULT_MAPPER =
+            (rs, rowNum) -> new UpsertResult(rs.getInt("candidateid"), rs.getBoolean("created"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NativeDialect dialect;
+
+    public CandidateRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dialect = new NativeDialect(jdbcTemplate);
+    }
+
+    @Override
+    public UpsertResult upsertByEmail(Candidate candidate) {
+        return jdbcTemplate.queryForObject(upsertSql(), RESULT_MAPPER,
+                candidate.getFullName(),
+                candidate.getDateOfBirth(),
+                candidate.getEmail(),
+                candidate.getPhone(),
+                candidate.getPosition(),
+                candidate.getDepartment(),
+                candidate.getAddress(),
+                candidate.getCpa(),
+                candidate.getSex(),
+                candidate.getCvPath());
+    }
+
+    @Override
+    public Map<String, Integer> insertAll(List<Candidate> candidates) {
+        Map<String, Integer> ids = new HashMap<>();
+        boolean postgres = dialect.isPostgres();
+        for (int from = 0; from < candidates.size(); from += MAX_INSERT_ROWS) {
+            List<Candidate> rows = candidates.subList(from, Math.min(candidates.size(), from + MAX_INSERT_ROWS));
+            String values = String.join(", ", Collections.nCopies(rows.size(), VALUES_ROW));
+            String sql = postgres
+                    ? INSERT_COLUMNS + " VALUES " + values + " RETURNING candidateid, email"
+                    : INSERT_COLUMNS + " OUTPUT inserted.candidateid, inserted.email VALUES " + values;
+            jdbcTemplate.query(sql, rs -> {
+                ids.put(rs.getString("email"), rs.getInt("candidateid"));
+            }, rowArgs(rows));
+        }
+        return ids;
+    }
+
+    @Override
+    public Map<String, UpsertResult> upsertAllByEmail(List<Candidate> candidates) {
+        Map<String, UpsertResult> results = new HashMap<>();
+        String template = dialect.isPostgres() ? POSTGRES_UPSERT_ALL : SQL_SERVER_UPSERT_ALL;
+        for (int from = 0; from < candidates.size(); from += MAX_INSERT_ROWS) {
+            List<Candidate> rows = candidates.subList(from, Math.min(candidates.size(), from + MAX_INSERT_ROWS));
+            String sql = template.formatted(String.join(", ", Collections.nCopies(rows.size(), VALUES_ROW)));
+            jdbcTemplate.query(sql, rs -> {
+                results.put(rs.getString("email").trim().toLowerCase(Locale.ROOT),
+                        new UpsertResult(rs.getInt("candidateid"), rs.getBoolean("created")));
+            }, rowArgs(rows));
+        }
+        return results;
+    }
+
+    private static Object[] rowArgs(List<Candidate> rows) {
+        List<Object> args = new ArrayList<>(rows.size() * 10);
+        for (Candidate candidate : rows) {
+            args.add(candidate.getFullName());
+            args.add(candidate.getDateOfBirth());
+            args.add(candidate.getEmail());
+            args.add(candidate.getPhone());
+            args.add(candidate.getPosition());
+            args.add(candidate.getDepartment());
+            args.add(candidate.getAddress());
+            args.add(candidate.getCpa());
+            args.add(candidate.getSex());
+            args.add(candidate.getCvPath());
+        }
+        return args.toArray();
+    }
+
+    private String upsertSql() {
+        return dialect.isPostgres() ? POSTGRES_UPSERT : SQL_SERVER_UPSERT;
+    }
+}
@@ -0,0 +1,27 @@
+package com.recruitment.recruitment_backend.repository;
+
+import com.recruitment.recruitment_backend.model.CvDocument;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface CvDocumentRepository extends JpaRepository<CvDocument, String> {
+
+    // Referenced CVs the pipeline has not recorded yet, e.g. skipped while its queue was full
+    @Query("SELECT DISTINCT c.cvPath FROM Candidate c WHERE c.cvPath IS NOT NULL " +
+           "AND NOT EXISTS (SELECT d FROM CvDocument d WHERE d.cvPath = c.cvPath)")
+    List<String> findUnprocessedCvPaths(Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM CvDocument d WHERE d.cvPath IN :cvPaths")
+    int deleteByCvPaths(@Param("cvPaths") Collection<String> cvPaths);
+}
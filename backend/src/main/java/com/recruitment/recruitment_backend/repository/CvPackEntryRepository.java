@@ -0,0 +1,23 @@
+package com.recruitment.recruitment_backend.repository;
+
+import com.recruitment.recruitment_backend.model.CvPackEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface CvPackEntryRepository extends JpaRepository<CvPackEntry, String> {
+
+    // Packed CVs whose candidate was deleted or now points at another CV
+    @Query("SELECT e FROM CvPackEntry e WHERE NOT EXISTS " +
+           "(SELECT c FROM Candidate c WHERE c.cvPath = CONCAT('/uploads/cv/', e.fileName))")
+    List<CvPackEntry> findUnreferenced();
+
+    // Pairs of (packName, bytes of the members still indexed)
+    @Query("SELECT e.packName, SUM(e.compressedLength) FROM CvPackEntry e GROUP BY e.packName")
+    List<Object[]> sumCompressedLengthByPack();
+
+    List<CvPackEntry> findByPackNameOrderByPackOffset(String packName);
+}
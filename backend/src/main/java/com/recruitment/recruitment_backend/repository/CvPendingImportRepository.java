@@ -0,0 +1,25 @@
+package com.recruitment.recruitment_backend.repository;
+
+import com.recruitment.recruitment_backend.model.CvPendingImport;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface CvPendingImportRepository extends JpaRepository<CvPendingImport, String> {
+
+    @Query("SELECT p.cvPath FROM CvPendingImport p WHERE p.cvPath IN :cvPaths AND p.importedAt > :cutoff")
+    List<String> findPendingCvPaths(@Param("cvPaths") Collection<String> cvPaths, @Param("cutoff") Instant cutoff);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM CvPendingImport p WHERE p.importedAt <= :cutoff")
+    int deleteExpired(@Param("cutoff") Instant cutoff);
+}
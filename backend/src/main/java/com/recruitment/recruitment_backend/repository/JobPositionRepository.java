@@ -2,11 +2,20 @@ package com.recruitment.recruitment_backend.repository;
 
 import com.recruitment.recruitment_backend.model.JobPosition;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @Repository
 public interface JobPositionRepository extends JpaRepository<JobPosition, Integer> {
     List<JobPosition> findByPlanPlanID(Integer planID);
+
+    // Positions of plans with a posting in the given status whose deadline is not before the given day,
+    // each with that deadline
+    @Query("SELECT p, jp.deadline FROM JobPosition p JOIN FETCH p.plan pl JOIN JobPosting jp ON jp.plan = pl " +
+           "WHERE jp.status = :status AND jp.deadline >= :today")
+    List<Object[]> findOpenFetchPlan(@Param("status") String status, @Param("today") LocalDate today);
 }
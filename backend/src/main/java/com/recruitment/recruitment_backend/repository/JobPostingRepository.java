@@ -2,13 +2,25 @@ package com.recruitment.recruitment_backend.repository;
 
 import com.recruitment.recruitment_backend.model.JobPosting;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface JobPostingRepository extends JpaRepository<JobPosting, Integer> {
     List<JobPosting> findByStatus(String status);
+
+    @Query("SELECT p FROM JobPosting p LEFT JOIN FETCH p.plan WHERE p.status = :status")
+    List<JobPosting> findByStatusFetchPlan(@Param("status") String status);
+
+    @Query("SELECT p FROM JobPosting p JOIN FETCH p.plan pl " +
+           "WHERE p.status = :status AND (p.postID IN :postIds OR pl.planID IN :planIds)")
+    List<JobPosting> findByStatusAndPostOrPlanFetchPlan(@Param("status") String status,
+                                                       @Param("postIds") Collection<Integer> postIds,
+                                                       @Param("planIds") Collection<Integer> planIds);
     Optional<JobPosting> findByPlanPlanID(Integer planId);
 }
@@ -0,0 +1,31 @@
+package com.recruitment.recruitment_backend.repository;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Tells the native repository fragments which of the two supported databases they
+ * run against, asking the driver once.
+ */
+class NativeDialect {
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile String databaseProduct;
+
+    NativeDialect(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    boolean isPostgres() {
+        String product = databaseProduct;
+        if (product == null) {
+            product = jdbcTemplate.execute(
+                    (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+            if (product == null || !("PostgreSQL".equalsIgnoreCase(product) || product.startsWith("Microsoft SQL Server"))) {
+                throw new IllegalStateException("Native writes are not supported on " + product);
+            }
+            databaseProduct = product;
+        }
+        return "PostgreSQL".equalsIgnoreCase(product);
+    }
+}
@@ -0,0 +1,59 @@
+package com.recruitment.recruitment_backend.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Authenticates requests carrying {@code Authorization: Bearer <token>} from the token
+ * alone, with an {@link AccessTokenPrincipal} as the principal. Requests without a
+ * token continue anonymously, and so do requests whose token does not verify (expired,
+ * or signed with a key this instance no longer has): public endpoints keep working,
+ * and endpoints that need a caller answer 401, which tells clients to log in again.
+ */
+public class AccessTokenFilter extends OncePerRequestFilter {
+
+    private static final String BEARER = "Bearer ";
+
+    /** Request attribute set when a token was presented but rejected. */
+    public static final String REJECTED_TOKEN_ATTRIBUTE = AccessTokenFilter.class.getName() + ".rejected";
+
+    private final AccessTokenService accessTokenService;
+
+    public AccessTokenFilter(AccessTokenService accessTokenService) {
+        this.accessTokenService = accessTokenService;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.regionMatches(true, 0, BEARER, 0, BEARER.length())) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        AccessTokenPrincipal principal = accessTokenService.verify(header.substring(BEARER.length()).trim());
+        if (principal == null) {
+            request.setAttribute(REJECTED_TOKEN_ATTRIBUTE, Boolean.TRUE);
+            chain.doFilter(request, response);
+            return;
+        }
+
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(new UsernamePasswordAuthenticationToken(principal, null,
+                List.of(new SimpleGrantedAuthority("ROLE_" + principal.role()))));
+        SecurityContextHolder.setContext(context);
+        chain.doFilter(request, response);
+    }
+}
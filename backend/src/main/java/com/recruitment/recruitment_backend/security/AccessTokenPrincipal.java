@@ -0,0 +1,16 @@
+package com.recruitment.recruitment_backend.security;
+
+import java.security.Principal;
+
+/**
+ * The caller as described by a verified access token; nothing here comes from the database.
+ * @param roleId id of the caller's row in the table of their role (Admin, Rector,
+ *               UnitManagers, PersonnelManager), or null if there is none
+ */
+public record AccessTokenPrincipal(Integer userId, String username, String role, Integer roleId) implements Principal {
+
+    @Override
+    public String getName() {
+        return username;
+    }
+}
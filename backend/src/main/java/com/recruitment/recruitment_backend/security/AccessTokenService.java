@@ -0,0 +1,189 @@
+package com.recruitment.recruitment_backend.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Issues and verifies HS256 JWTs carrying the user id, username, role and role row id.
+ * Verification needs only the signing keys, never the database or a session.
+ * <p>
+ * Keys are configured as {@code auth.token.keys=<kid>:<secret>[,<kid>:<secret>...]};
+ * tokens are signed with {@code auth.token.active-key} and accepted under any listed
+ * key. To rotate, add the new key on every instance, then make it the active one, and
+ * drop the old key once the last tokens signed with it have expired.
+ */
+@Service
+public class AccessTokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(AccessTokenService.class);
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder BASE64URL = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder BASE64URL_DECODER = Base64.getUrlDecoder();
+
+    private final ObjectMapper objectMapper;
+    private final long ttlSeconds;
+    private final SigningKey activeKey;
+    // Keyed by the encoded header, so verifying never has to parse it
+    private final Map<String, SigningKey> keysByHeader = new HashMap<>();
+
+    public AccessTokenService(ObjectMapper objectMapper,
+                              @Value("${auth.token.keys:}") String keys,
+                              @Value("${auth.token.active-key:}") String activeKeyId,
+                              @Value("${auth.token.ttl-seconds:3600}") long ttlSeconds) {
+        this.objectMapper = objectMapper;
+        this.ttlSeconds = ttlSeconds;
+
+        Map<String, byte[]> secrets = new LinkedHashMap<>();
+        if (StringUtils.hasText(keys)) {
+            for (String entry : keys.split(",")) {
+                entry = entry.trim();
+                int colon = entry.indexOf(':');
+                if (colon <= 0 || colon == entry.length() - 1) {
+                    throw new IllegalArgumentException("auth.token.keys entries must be <kid>:<secret>");
+                }
+                String kid = entry.substring(0, colon);
+                byte[] secret = entry.substring(colon + 1).getBytes(StandardCharsets.UTF_8);
+                if (secret.length < 32) {
+                    log.warn("Access token key {} is shorter than 32 bytes", kid);
+                }
+                secrets.put(kid, secret);
+            }
+        } else {
+            byte[] secret = new byte[32];
+            new SecureRandom().nextBytes(secret);
+            secrets.put("local", secret);
+            log.warn("auth.token.keys is not set; access tokens will not survive a restart or work across instances");
+        }
+
+        SigningKey active = null;
+        for (Map.Entry<String, byte[]> secret : secrets.entrySet()) {
+            SigningKey key = new SigningKey(secret.getKey(), secret.getValue());
+            keysByHeader.put(key.header, key);
+            if (active == null || secret.getKey().equals(activeKeyId)) {
+                active = key;
+            }
+        }
+        if (StringUtils.hasText(activeKeyId) && !secrets.containsKey(activeKeyId)) {
+            throw new IllegalArgumentException("auth.token.active-key " + activeKeyId + " is not in auth.token.keys");
+        }
+        this.activeKey = active;
+    }
+
+    public record IssuedToken(String token, Instant expiresAt, long expiresIn) {
+    }
+
+    public IssuedToken issue(AccessTokenPrincipal principal) {
+        long now = Instant.now().getEpochSecond();
+        long expires = now + ttlSeconds;
+        Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put("sub", principal.username());
+        claims.put("uid", principal.userId());
+        claims.put("role", principal.role());
+        claims.put("rid", principal.roleId());
+        claims.put("iat", now);
+        claims.put("exp", expires);
+        String payload;
+        try {
+            payload = BASE64URL.encodeToString(objectMapper.writeValueAsBytes(claims));
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not encode token claims", e);
+        }
+        String signingInput = activeKey.header + "." + payload;
+        String token = signingInput + "." + BASE64URL.encodeToString(activeKey.sign(signingInput));
+        return new IssuedToken(token, Instant.ofEpochSecond(expires), ttlSeconds);
+    }
+
+    /**
+     * @return the caller, or null if the token is malformed, signed with an unknown key,
+     *         tampered with or expired
+     */
+    public AccessTokenPrincipal verify(String token) {
+        if (token == null) {
+            return null;
+        }
+        int firstDot = token.indexOf('.');
+        int lastDot = token.lastIndexOf('.');
+        if (firstDot <= 0 || lastDot == firstDot) {
+            return null;
+        }
+        SigningKey key = keysByHeader.get(token.substring(0, firstDot));
+        if (key == null) {
+            return null;
+        }
+
+        byte[] signature;
+        try {
+            signature = BASE64URL_DECODER.decode(token.substring(lastDot + 1));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        // Constant time, so the signature cannot be guessed byte by byte
+        if (!MessageDigest.isEqual(key.sign(token.substring(0, lastDot)), signature)) {
+            return null;
+        }
+
+        try {
+            JsonNode claims = objectMapper.readTree(BASE64URL_DECODER.decode(token.substring(firstDot + 1, lastDot)));
+            if (claims.path("exp").asLong(0) <= Instant.now().getEpochSecond()) {
+                return null;
+            }
+            JsonNode roleId = claims.path("rid");
+            return new AccessTokenPrincipal(
+                    claims.path("uid").asInt(),
+                    claims.path("sub").asText(),
+                    claims.path("role").asText(),
+                    roleId.isNumber() ? roleId.asInt() : null);
+        } catch (IOException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private final class SigningKey {
+        private final String header;
+        private final ThreadLocal<Mac> macs;
+
+        SigningKey(String kid, byte[] secret) {
+            Map<String, Object> header = new LinkedHashMap<>();
+            header.put("alg", "HS256");
+            header.put("typ", "JWT");
+            header.put("kid", kid);
+            try {
+                this.header = BASE64URL.encodeToString(objectMapper.writeValueAsBytes(header));
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not encode token header", e);
+            }
+            SecretKeySpec spec = new SecretKeySpec(secret, ALGORITHM);
+            this.macs = ThreadLocal.withInitial(() -> {
+                try {
+                    Mac mac = Mac.getInstance(ALGORITHM);
+                    mac.init(spec);
+                    return mac;
+                } catch (GeneralSecurityException e) {
+                    throw new IllegalStateException(ALGORITHM + " not available", e);
+                }
+            });
+        }
+
+        byte[] sign(String signingInput) {
+            return macs.get().doFinal(signingInput.getBytes(StandardCharsets.US_ASCII));
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.recruitment.recruitment_backend.security;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs another encoder's hashing on a small fixed pool instead of the calling request
+ * thread, so however many logins arrive at once, hashing never uses more than the
+ * pool's threads' worth of CPU. Work beyond the bounded queue, or that would wait
+ * longer than the configured limit, is refused with {@link PasswordHashingBusyException}.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long maxWaitMillis;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, long maxWaitMillis) {
+        this.delegate = delegate;
+        this.maxWaitMillis = maxWaitMillis;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    // Only parses the hash, so it stays on the caller
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    private <T> T run(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw new PasswordHashingBusyException("Password hashing queue is full");
+        }
+        try {
+            return future.get(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new PasswordHashingBusyException("Password hashing took too long");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingBusyException("Interrupted while waiting for password hashing");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.recruitment.recruitment_backend.security;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Injects the authenticated caller into a controller method parameter of type
+ * {@link AccessTokenPrincipal}. See {@link CurrentUserArgumentResolver}.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CurrentUser {
+
+    /**
+     * Whether an unauthenticated request is answered with 401; otherwise null is passed.
+     */
+    boolean required() default true;
+}
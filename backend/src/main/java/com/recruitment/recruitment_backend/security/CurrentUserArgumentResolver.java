@@ -0,0 +1,50 @@
+package com.recruitment.recruitment_backend.security;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Resolves {@link CurrentUser} parameters to the caller's user id, role and role row id.
+ * These come from the verified access token, so identifying the caller never queries
+ * the database; the result is kept on the request so it is worked out once however
+ * many handlers ask. Controllers that need the caller as an entity should take a
+ * reference by id rather than loading it.
+ */
+public class CurrentUserArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private static final String ATTRIBUTE = CurrentUserArgumentResolver.class.getName() + ".principal";
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(CurrentUser.class)
+                && AccessTokenPrincipal.class.isAssignableFrom(parameter.getParameterType());
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        AccessTokenPrincipal principal = (AccessTokenPrincipal) webRequest.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (principal == null) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.getPrincipal() instanceof AccessTokenPrincipal resolved) {
+                principal = resolved;
+                webRequest.setAttribute(ATTRIBUTE, principal, RequestAttributes.SCOPE_REQUEST);
+            }
+        }
+        if (principal == null && parameter.getParameterAnnotation(CurrentUser.class).required()) {
+            boolean rejected = webRequest.getAttribute(AccessTokenFilter.REJECTED_TOKEN_ATTRIBUTE,
+                    RequestAttributes.SCOPE_REQUEST) != null;
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED,
+                    rejected ? "Invalid or expired access token" : "Authentication required");
+        }
+        return principal;
+    }
+}
@@ -2,29 +2,53 @@ package com.recruitment.recruitment_backend.security;
 
 import com.recruitment.recruitment_backend.model.User;
 import com.recruitment.recruitment_backend.repository.UsersRepository;
+import com.recruitment.recruitment_backend.service.UserCache;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
+    private final UserCache userCache;
     private final UsersRepository usersRepository;
 
-    public CustomUserDetailsService(UsersRepository usersRepository) {
+    public CustomUserDetailsService(UserCache userCache, UsersRepository usersRepository) {
+        this.userCache = userCache;
         this.usersRepository = usersRepository;
     }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = usersRepository.findByUsername(username)
+        UserCache.CachedUser user = userCache.get(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
 
         return org.springframework.security.core.userdetails.User.builder()
-                .username(user.getUsername())
-                .password(user.getPassword())
-                .roles(user.getRole())
+                .username(user.username())
+                .password(user.passwordHash())
+                .roles(user.role())
+                .build();
+    }
+
+    /**
+     * Called by the authentication provider after a successful login whose stored hash
+     * was made with a weaker setting than the current encoder, with the password
+     * re-hashed at the current one.
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        User stored = usersRepository.findByUsername(user.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + user.getUsername()));
+        stored.setPassword(newPassword);
+        usersRepository.save(stored);
+        userCache.invalidate(stored.getUsername());
+
+        return org.springframework.security.core.userdetails.User.withUserDetails(user)
+                .password(newPassword)
                 .build();
     }
 }
@@ -0,0 +1,116 @@
+package com.recruitment.recruitment_backend.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts failed logins per username and per client address over a sliding window,
+ * and refuses further attempts from either once it passes its limit. Refused attempts
+ * are answered before any password is hashed, so a credential-stuffing run costs
+ * almost nothing once it is throttled. A successful login clears its username.
+ * <p>
+ * Each window is a ring of time buckets updated with atomics only; counts are
+ * approximate by at most one bucket, which is all throttling needs.
+ * <p>
+ * The address is the one the servlet container reports. Behind a reverse proxy that
+ * is the proxy's own address unless forwarded headers are honoured
+ * ({@code server.forward-headers-strategy} and, for proxies outside the private
+ * ranges, {@code server.tomcat.remoteip.internal-proxies}); otherwise every client
+ * shares one window and the per-address limit must be disabled by setting
+ * {@code auth.login.max-failures-per-address=0}.
+ */
+@Component
+public class LoginThrottle {
+
+    private static final int BUCKETS = 10;
+
+    private final int maxFailuresPerUser;
+    private final int maxFailuresPerAddress;
+    private final long bucketMillis;
+    private final ConcurrentHashMap<String, SlidingWindow> byUser = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, SlidingWindow> byAddress = new ConcurrentHashMap<>();
+
+    public LoginThrottle(@Value("${auth.login.max-failures-per-user:5}") int maxFailuresPerUser,
+                         @Value("${auth.login.max-failures-per-address:50}") int maxFailuresPerAddress,
+                         @Value("${auth.login.window-seconds:300}") long windowSeconds) {
+        this.maxFailuresPerUser = maxFailuresPerUser;
+        this.maxFailuresPerAddress = maxFailuresPerAddress;
+        this.bucketMillis = Math.max(1, windowSeconds * 1000 / BUCKETS);
+    }
+
+    /**
+     * @return 0 if the attempt may go ahead, otherwise seconds until it is worth retrying
+     */
+    public long retryAfterSeconds(String username, String address) {
+        long bucket = System.currentTimeMillis() / bucketMillis;
+        if (count(byUser, userKey(username), bucket) >= maxFailuresPerUser
+                || (maxFailuresPerAddress > 0 && count(byAddress, address, bucket) >= maxFailuresPerAddress)) {
+            // The oldest bucket drops out of the window at the next boundary
+            return Math.max(1, (bucketMillis - System.currentTimeMillis() % bucketMillis + 999) / 1000);
+        }
+        return 0;
+    }
+
+    public void recordFailure(String username, String address) {
+        long bucket = System.currentTimeMillis() / bucketMillis;
+        byUser.computeIfAbsent(userKey(username), key -> new SlidingWindow()).add(bucket);
+        if (address != null && maxFailuresPerAddress > 0) {
+            byAddress.computeIfAbsent(address, key -> new SlidingWindow()).add(bucket);
+        }
+    }
+
+    public void recordSuccess(String username) {
+        byUser.remove(userKey(username));
+    }
+
+    // Drop windows with nothing left in them, so the maps only hold recent offenders
+    @Scheduled(fixedDelayString = "${auth.login.cleanup-interval-ms:60000}")
+    public void cleanUp() {
+        long bucket = System.currentTimeMillis() / bucketMillis;
+        byUser.values().removeIf(window -> window.sum(bucket) == 0);
+        byAddress.values().removeIf(window -> window.sum(bucket) == 0);
+    }
+
+    private static int count(ConcurrentHashMap<String, SlidingWindow> windows, String key, long bucket) {
+        if (key == null) {
+            return 0;
+        }
+        SlidingWindow window = windows.get(key);
+        return window == null ? 0 : window.sum(bucket);
+    }
+
+    // Usernames differing only in case are one target
+    private static String userKey(String username) {
+        return username == null ? "" : username.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static class SlidingWindow {
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+        private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+        void add(long bucket) {
+            int slot = (int) (bucket % BUCKETS);
+            long current = buckets.get(slot);
+            // First writer into a recycled slot resets it; a racing increment may be lost
+            if (current != bucket && buckets.compareAndSet(slot, current, bucket)) {
+                counts.set(slot, 0);
+            }
+            counts.incrementAndGet(slot);
+        }
+
+        int sum(long bucket) {
+            long total = 0;
+            for (int slot = 0; slot < BUCKETS; slot++) {
+                if (bucket - buckets.get(slot) < BUCKETS) {
+                    total += counts.get(slot);
+                }
+            }
+            return (int) total;
+        }
+    }
+}
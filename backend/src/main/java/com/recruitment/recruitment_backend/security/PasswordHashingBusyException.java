@@ -0,0 +1,12 @@
+package com.recruitment.recruitment_backend.security;
+
+/**
+ * Thrown when the password hashing pool cannot take more work; callers answer 429
+ * rather than queueing behind it.
+ */
+public class PasswordHashingBusyException extends RuntimeException {
+
+    public PasswordHashingBusyException(String message) {
+        super(message);
+    }
+}
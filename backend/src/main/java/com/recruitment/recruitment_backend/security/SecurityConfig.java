@@ -1,5 +1,6 @@
 package com.recruitment.recruitment_backend.security;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -13,6 +14,7 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -23,9 +25,17 @@ import java.io.IOException;
 @EnableWebSecurity
 public class SecurityConfig {
 
+    /**
+     * BCrypt on its own bounded pool. Raising the strength takes effect for existing
+     * users as they next log in, through CustomUserDetailsService.updatePassword.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${auth.password.bcrypt-strength:10}") int strength,
+                                           @Value("${auth.password.hash-threads:0}") int threads,
+                                           @Value("${auth.password.queue-capacity:64}") int queueCapacity,
+                                           @Value("${auth.password.max-wait-ms:5000}") long maxWaitMillis) {
+        int hashThreads = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(strength), hashThreads, queueCapacity, maxWaitMillis);
     }
 
     @Bean
@@ -34,7 +44,7 @@ public class SecurityConfig {
     }
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, AccessTokenService accessTokenService) throws Exception {
         http
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
             
@@ -44,15 +54,13 @@ public class SecurityConfig {
                 .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
             )
             
+            // Bearer tokens are verified from their signature alone, no session or lookup
+            .addFilterBefore(new AccessTokenFilter(accessTokenService), UsernamePasswordAuthenticationFilter.class)
+
             .authorizeHttpRequests(auth -> auth
                 .anyRequest().permitAll()  // Temporarily allow all requests
             )
             
-            // Disable automatic HTTP Basic authentication since we parse it manually in UserController
-            // .httpBasic(httpBasic -> {
-            //     // Enable HTTP Basic authentication
-            // })
-            
             .exceptionHandling(exceptions -> exceptions
                 .authenticationEntryPoint((request, response, ex) -> {
                     response.setContentType(MediaType.APPLICATION_JSON_VALUE);
@@ -73,18 +81,23 @@ public class SecurityConfig {
             "http://127.0.0.1:3000"
         )); 
 
-        configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
+        configuration.setAllowedMethods(Arrays.asList("GET", "HEAD", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
         
         configuration.setAllowedHeaders(Arrays.asList(
             "Authorization",
             "Content-Type",
-            "Accept"
+            "Accept",
+            "Upload-Offset",
+            "Upload-Length",
+            "Idempotency-Key"
         )); 
         
         configuration.setAllowCredentials(true); 
         
         configuration.setExposedHeaders(Arrays.asList(
-            "Authorization"
+            "Authorization",
+            "Upload-Offset",
+            "Upload-Length"
         ));
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -0,0 +1,57 @@
+package com.recruitment.recruitment_backend.security;
+
+import com.recruitment.recruitment_backend.service.CvDownloadService;
+import com.recruitment.recruitment_backend.service.CvUrlSigner;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Serves {@code /uploads/cv/**} for requests carrying a valid signature minted by
+ * {@link CvUrlSigner}, and rejects everything else. The file is written from the
+ * filter itself, so signed downloads never reach the dispatcher servlet. Responses may
+ * be cached publicly, but only until the URL expires.
+ */
+public class SignedCvUrlFilter extends OncePerRequestFilter {
+
+    private final CvUrlSigner cvUrlSigner;
+    private final CvDownloadService cvDownloadService;
+
+    public SignedCvUrlFilter(CvUrlSigner cvUrlSigner, CvDownloadService cvDownloadService) {
+        this.cvUrlSigner = cvUrlSigner;
+        this.cvDownloadService = cvDownloadService;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String method = request.getMethod();
+        if (!"GET".equals(method) && !"HEAD".equals(method)) {
+            reject(response, HttpServletResponse.SC_METHOD_NOT_ALLOWED, "Method not allowed");
+            return;
+        }
+
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        String fileName = path.startsWith(CvUrlSigner.PATH_PREFIX) ? path.substring(CvUrlSigner.PATH_PREFIX.length()) : null;
+        long remaining = cvUrlSigner.verify(fileName,
+                request.getParameter(CvUrlSigner.EXPIRES_PARAM),
+                request.getParameter(CvUrlSigner.SIGNATURE_PARAM));
+        if (remaining < 0) {
+            reject(response, HttpServletResponse.SC_FORBIDDEN, "Invalid or expired CV link");
+            return;
+        }
+
+        cvDownloadService.serve(fileName, "public, max-age=" + remaining + ", immutable", request, response);
+    }
+
+    private static void reject(HttpServletResponse response, int status, String message) throws IOException {
+        response.setStatus(status);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"error\": \"" + message + "\"}");
+    }
+}
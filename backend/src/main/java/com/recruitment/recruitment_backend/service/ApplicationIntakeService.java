@@ -0,0 +1,219 @@
+package com.recruitment.recruitment_backend.service;
+
+import com.recruitment.recruitment_backend.dto.ApplicationDTO;
+import com.recruitment.recruitment_backend.dto.ApplicationSubmitRequest;
+import com.recruitment.recruitment_backend.dto.ApplicationSubmitResult;
+import com.recruitment.recruitment_backend.dto.IntakeTicket;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Accepts application submissions into a bounded in-memory queue and writes them
+ * in batches from a single background writer. Each batch is one transaction written
+ * with multi-row statements, so the statement count does not grow with the batch.
+ */
+@Service
+public class ApplicationIntakeService {
+
+    private static final Logger log = LoggerFactory.getLogger(ApplicationIntakeService.class);
+
+    private static final Duration TICKET_RETENTION = Duration.ofHours(1);
+
+    private final ApplicationService applicationService;
+    private final BlockingQueue<PendingSubmission> queue;
+    private final int batchSize;
+    private final int maxTickets;
+
+    private final Map<String, IntakeTicket> tickets = new ConcurrentHashMap<>();
+    private final Map<String, String> ticketsByIdempotencyKey = new ConcurrentHashMap<>();
+
+    private volatile boolean running = true;
+    private Thread writer;
+    private LocalDateTime lastEviction = LocalDateTime.now();
+
+    public ApplicationIntakeService(ApplicationService applicationService,
+                                    @Value("${intake.queue-capacity:10000}") int queueCapacity,
+                                    @Value("${intake.batch-size:200}") int batchSize,
+                                    @Value("${intake.max-tickets:100000}") int maxTickets) {
+        this.applicationService = applicationService;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.maxTickets = maxTickets;
+    }
+
+    @PostConstruct
+    void start() {
+        writer = new Thread(this::drainLoop, "application-intake-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Queue a submission. A repeated idempotency key returns the ticket of the
+     * original submission instead of queueing it again.
+     *
+     * @return the ticket, or {@code null} if the queue or the ticket table is full,
+     *         or the service is shutting down
+     */
+    public IntakeTicket enqueue(String idempotencyKey, ApplicationSubmitRequest request) {
+        if (!running) {
+            return null;
+        }
+        if (tickets.size() >= maxTickets && !trimCompletedTickets()) {
+            return null;
+        }
+
+        IntakeTicket ticket = new IntakeTicket(UUID.randomUUID().toString(), IntakeTicket.QUEUED,
+                null, null, LocalDateTime.now(), null);
+
+        // The ticket is visible before its key, so a retry that finds the key also finds the ticket
+        tickets.put(ticket.getTicketId(), ticket);
+        if (idempotencyKey != null) {
+            while (true) {
+                String existing = ticketsByIdempotencyKey.putIfAbsent(idempotencyKey, ticket.getTicketId());
+                if (existing == null) {
+                    break;
+                }
+                IntakeTicket original = tickets.get(existing);
+                if (original != null) {
+                    tickets.remove(ticket.getTicketId());
+                    return original;
+                }
+                // Original ticket was evicted, take the key over unless another retry already did
+                if (ticketsByIdempotencyKey.replace(idempotencyKey, existing, ticket.getTicketId())) {
+                    break;
+                }
+            }
+        }
+
+        if (!queue.offer(new PendingSubmission(ticket, request))) {
+            tickets.remove(ticket.getTicketId());
+            if (idempotencyKey != null) {
+                ticketsByIdempotencyKey.remove(idempotencyKey, ticket.getTicketId());
+            }
+            return null;
+        }
+        return ticket;
+    }
+
+    public IntakeTicket getTicket(String ticketId) {
+        return tickets.get(ticketId);
+    }
+
+    private void drainLoop() {
+        List<PendingSubmission> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingSubmission first = queue.poll(500, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                    writeBatch(batch);
+                    batch.clear();
+                }
+                evictExpiredTickets();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                log.error("Application intake writer failed", e);
+                batch.clear();
+            }
+        }
+    }
+
+    private void writeBatch(List<PendingSubmission> batch) {
+        try {
+            // Multi-row statements for the whole batch; invalid submissions come back as errors
+            List<ApplicationSubmitResult> results = applicationService.submitApplications(
+                    batch.stream().map(PendingSubmission::request).toList());
+            for (int i = 0; i < batch.size(); i++) {
+                complete(batch.get(i).ticket(), results.get(i).getApplicationID(), results.get(i).getError());
+            }
+        } catch (Exception batchFailure) {
+            // A failed statement rolls back the whole batch, retry one by one to isolate it
+            log.warn("Application intake batch of {} failed, retrying one by one", batch.size(), batchFailure);
+            for (PendingSubmission submission : batch) {
+                try {
+                    ApplicationDTO application = applicationService.submitApplication(submission.request());
+                    complete(submission.ticket(), application.getApplicationID(), null);
+                } catch (Exception e) {
+                    complete(submission.ticket(), null, e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void complete(IntakeTicket ticket, Integer applicationID, String error) {
+        // Publish a new instance through the map so readers never see a half-updated ticket
+        tickets.put(ticket.getTicketId(), new IntakeTicket(ticket.getTicketId(),
+                error == null ? IntakeTicket.COMPLETED : IntakeTicket.FAILED,
+                applicationID, error, ticket.getSubmittedAt(), LocalDateTime.now()));
+    }
+
+    /**
+     * Drop the oldest completed tickets until the table is back under 90% of its cap.
+     *
+     * @return whether there is room for another ticket
+     */
+    private synchronized boolean trimCompletedTickets() {
+        if (tickets.size() < maxTickets) {
+            return true;
+        }
+        int target = maxTickets - Math.max(1, maxTickets / 10);
+        List<IntakeTicket> completed = tickets.values().stream()
+                .filter(t -> t.getCompletedAt() != null)
+                .sorted(Comparator.comparing(IntakeTicket::getCompletedAt))
+                .toList();
+        for (IntakeTicket t : completed) {
+            if (tickets.size() <= target) {
+                break;
+            }
+            tickets.remove(t.getTicketId(), t);
+        }
+        ticketsByIdempotencyKey.values().removeIf(id -> !tickets.containsKey(id));
+        return tickets.size() < maxTickets;
+    }
+
+    private void evictExpiredTickets() {
+        LocalDateTime now = LocalDateTime.now();
+        if (lastEviction.plusMinutes(1).isAfter(now)) {
+            return;
+        }
+        lastEviction = now;
+        LocalDateTime cutoff = now.minus(TICKET_RETENTION);
+        tickets.values().removeIf(t -> t.getCompletedAt() != null && t.getCompletedAt().isBefore(cutoff));
+        ticketsByIdempotencyKey.values().removeIf(id -> !tickets.containsKey(id));
+    }
+
+    /**
+     * Stop accepting submissions and let the writer drain what is already queued.
+     */
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(30));
+        if (!queue.isEmpty()) {
+            log.warn("Application intake stopped with {} submissions still queued", queue.size());
+        }
+    }
+
+    private record PendingSubmission(IntakeTicket ticket, ApplicationSubmitRequest request) {
+    }
+}
@@ -2,89 +2,301 @@ package com.recruitment.recruitment_backend.service;
 
 import com.recruitment.recruitment_backend.dto.ApplicationDTO;
 import com.recruitment.recruitment_backend.dto.ApplicationSubmitRequest;
+import com.recruitment.recruitment_backend.dto.ApplicationSubmitResult;
+import com.recruitment.recruitment_backend.dto.BulkStatusUpdateRequest;
 import com.recruitment.recruitment_backend.dto.CandidateDTO;
+import com.recruitment.recruitment_backend.dto.StatusUpdateResult;
 import com.recruitment.recruitment_backend.model.Application;
+import com.recruitment.recruitment_backend.model.ApplicationSummary;
 import com.recruitment.recruitment_backend.model.Candidate;
 import com.recruitment.recruitment_backend.model.JobPosition;
 import com.recruitment.recruitment_backend.repository.ApplicationRepository;
+import com.recruitment.recruitment_backend.repository.ApplicationSummaryRepository;
 import com.recruitment.recruitment_backend.repository.CandidateRepository;
+import com.recruitment.recruitment_backend.repository.CandidateRepositoryCustom;
 import com.recruitment.recruitment_backend.repository.JobPositionRepository;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.sql.Statement;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 public class ApplicationService {
 
+    private static final int STATUS_BATCH_SIZE = 500;
+    private static final String PHONE_IN_USE = "Phone number is already registered to another candidate";
+    private static final String ALREADY_APPLIED = "Candidate has already applied for this position";
+    private static final String INITIAL_STATUS = "Đang xét";
+    private static final String CANDIDATE_POSITION_CONSTRAINT = "UK_applications_candidate_position";
+
     @Autowired
     private ApplicationRepository applicationRepository;
 
+    @Autowired
+    private ApplicationSummaryRepository applicationSummaryRepository;
+
     @Autowired
     private CandidateRepository candidateRepository;
 
     @Autowired
     private JobPositionRepository jobPositionRepository;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CandidateLockService candidateLockService;
+
+    @Autowired
+    private JobPositionResolver jobPositionResolver;
+
+    @Autowired
+    private FileStorageService fileStorageService;
+
     @Transactional
     public ApplicationDTO submitApplication(ApplicationSubmitRequest request) {
-        // Create or get candidate
-        Candidate candidate = candidateRepository.findByEmail(request.getEmail())
-                .orElseGet(() -> {
-                    Candidate newCandidate = Candidate.builder()
-                            .fullName(request.getFullName())
-                            .dateOfBirth(request.getDateOfBirth())
-                            .email(request.getEmail())
-                            .phone(request.getPhone())
-                            .position(request.getPosition())
-                            .department(request.getDepartment())
-                            .address(request.getAddress())
-                            .cpa(request.getCpa())
-                            .sex(request.getSex())
-                            .cvPath(request.getCvPath())
-                            .build();
-                    return candidateRepository.save(newCandidate);
+        // Create the candidate, or refresh a returning candidate's details, in one statement
+        Candidate candidate = toCandidate(request);
+        // Serialize the check and upsert for the same email/phone on this node; the
+        // written row's database locks take over from there until commit
+        CandidateRepositoryCustom.UpsertResult upsert = candidateLockService.callLocked(
+                request.getEmail(), request.getPhone(), () -> {
+                    // The upsert would overwrite the phone; it must not be another candidate's
+                    candidateRepository.findEmailByPhone(request.getPhone())
+                            .filter(owner -> !owner.equalsIgnoreCase(request.getEmail()))
+                            .ifPresent(owner -> {
+                                throw new RuntimeException(PHONE_IN_USE);
+                            });
+                    try {
+                        return candidateRepository.upsertByEmail(candidate);
+                    } catch (DataIntegrityViolationException e) {
+                        // Another node or transaction took the phone after the check
+                        throw new RuntimeException(PHONE_IN_USE);
+                    }
                 });
-
-        // Get job position if provided
-        JobPosition jobPosition = null;
-        if (request.getPositionID() != null) {
-            jobPosition = jobPositionRepository.findById(request.getPositionID())
-                    .orElseThrow(() -> new RuntimeException("Job position not found with id: " + request.getPositionID()));
-        } else {
-            // Try to find any available position
-            List<JobPosition> positions = jobPositionRepository.findAll();
-            if (!positions.isEmpty()) {
-                jobPosition = positions.get(0);
-            } else {
-                throw new RuntimeException("No job positions available");
-            }
+        candidate.setCandidateID(upsert.candidateID());
+        if (!upsert.created()) {
+            applicationSummaryRepository.updateCandidate(candidate.getCandidateID(),
+                    candidate.getFullName(), candidate.getEmail(), candidate.getCpa());
         }
 
+        // Get job position if provided, otherwise match the requested position text
+        Integer positionID = request.getPositionID() != null
+                ? request.getPositionID()
+                : jobPositionResolver.resolve(request.getPosition(), request.getDepartment());
+        JobPosition jobPosition = jobPositionRepository.findById(positionID)
+                .orElseThrow(() -> new RuntimeException("Job position not found with id: " + positionID));
+
         // Create application
         Application application = Application.builder()
                 .candidate(candidate)
                 .position(jobPosition)
                 .applyDate(LocalDate.now())
-                .status("Đang xét")
+                .status(INITIAL_STATUS)
                 .build();
 
-        Application saved = applicationRepository.save(application);
+        Application saved;
+        try {
+            saved = applicationRepository.save(application);
+        } catch (DataIntegrityViolationException e) {
+            // Only the unique (candidateID, positionID) constraint means a repeat application
+            if (violates(e, CANDIDATE_POSITION_CONSTRAINT)) {
+                throw new RuntimeException(ALREADY_APPLIED);
+            }
+            throw e;
+        }
+        applicationSummaryRepository.save(toSummary(saved));
         return convertToDTO(saved);
     }
 
+    /**
+     * Submit many applications in one transaction with a fixed number of statements
+     * whatever the batch size: one lookup each for positions, existing applications and
+     * phone owners, a multi-row candidate upsert and a multi-row application insert,
+     * and batched read-model writes. A submission that fails validation is reported on
+     * its own and leaves no trace; a statement that fails rolls back the whole batch.
+     * @return one result per request, in order
+     */
+    @Transactional
+    public List<ApplicationSubmitResult> submitApplications(List<ApplicationSubmitRequest> requests) {
+        int count = requests.size();
+        String[] errors = new String[count];
+        Integer[] positionIDs = new Integer[count];
+
+        // Positions: named, or matched from the text, then loaded together
+        for (int i = 0; i < count; i++) {
+            ApplicationSubmitRequest request = requests.get(i);
+            try {
+                positionIDs[i] = request.getPositionID() != null
+                        ? request.getPositionID()
+                        : jobPositionResolver.resolve(request.getPosition(), request.getDepartment());
+            } catch (RuntimeException e) {
+                errors[i] = e.getMessage();
+            }
+        }
+        Map<Integer, JobPosition> positions = new HashMap<>();
+        jobPositionRepository.findAllById(Arrays.stream(positionIDs).filter(Objects::nonNull).distinct().toList())
+                .forEach(position -> positions.put(position.getPositionID(), position));
+
+        // Applied before, or earlier in this batch
+        Set<String> emails = new HashSet<>();
+        Set<String> phones = new HashSet<>();
+        for (int i = 0; i < count; i++) {
+            if (errors[i] == null) {
+                emails.add(requests.get(i).getEmail());
+                phones.add(requests.get(i).getPhone());
+            }
+        }
+        Set<String> applied = new HashSet<>();
+        if (!emails.isEmpty()) {
+            applicationRepository.findAppliedPositionsByEmails(emails)
+                    .forEach(row -> applied.add(emailKey((String) row[0]) + "|" + row[1]));
+        }
+        for (int i = 0; i < count; i++) {
+            if (errors[i] == null && !positions.containsKey(positionIDs[i])) {
+                errors[i] = "Job position not found with id: " + positionIDs[i];
+            } else if (errors[i] == null && !applied.add(emailKey(requests.get(i).getEmail()) + "|" + positionIDs[i])) {
+                errors[i] = ALREADY_APPLIED;
+            }
+        }
+
+        // One candidate row per email, the latest submission's details winning
+        Map<String, Candidate> candidates = new LinkedHashMap<>();
+        Map<String, CandidateRepositoryCustom.UpsertResult> upserts = candidateLockService.callLocked(emails, phones, () -> {
+            Map<String, String> phoneOwners = new HashMap<>();
+            if (!phones.isEmpty()) {
+                candidateRepository.findEmailsByPhones(phones)
+                        .forEach(row -> phoneOwners.put((String) row[0], emailKey((String) row[1])));
+            }
+            for (int i = 0; i < count; i++) {
+                if (errors[i] != null) {
+                    continue;
+                }
+                ApplicationSubmitRequest request = requests.get(i);
+                String email = emailKey(request.getEmail());
+                String owner = phoneOwners.putIfAbsent(request.getPhone(), email);
+                if (owner != null && !owner.equals(email)) {
+                    errors[i] = PHONE_IN_USE;
+                    continue;
+                }
+                candidates.put(email, toCandidate(request));
+            }
+            return candidates.isEmpty()
+                    ? Map.of()
+                    : candidateRepository.upsertAllByEmail(new ArrayList<>(candidates.values()));
+        });
+
+        List<Candidate> returning = new ArrayList<>();
+        candidates.forEach((email, candidate) -> {
+            CandidateRepositoryCustom.UpsertResult upsert = upserts.get(email);
+            candidate.setCandidateID(upsert.candidateID());
+            if (!upsert.created()) {
+                returning.add(candidate);
+            }
+        });
+        if (!returning.isEmpty()) {
+            jdbcTemplate.batchUpdate(
+                    "UPDATE application_summaries SET candidate_name = ?, candidate_email = ?, candidate_cpa = ? "
+                            + "WHERE candidateid = ?",
+                    returning, STATUS_BATCH_SIZE, (ps, candidate) -> {
+                        ps.setString(1, candidate.getFullName());
+                        ps.setString(2, candidate.getEmail());
+                        ps.setFloat(3, candidate.getCpa());
+                        ps.setInt(4, candidate.getCandidateID());
+                    });
+        }
+
+        Application[] applications = new Application[count];
+        List<Application> inserts = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            if (errors[i] == null) {
+                applications[i] = Application.builder()
+                        .candidate(candidates.get(emailKey(requests.get(i).getEmail())))
+                        .position(positions.get(positionIDs[i]))
+                        .applyDate(LocalDate.now())
+                        .status(INITIAL_STATUS)
+                        .build();
+                inserts.add(applications[i]);
+            }
+        }
+        if (!inserts.isEmpty()) {
+            applicationRepository.insertAll(inserts);
+            jdbcTemplate.batchUpdate(
+                    "INSERT INTO application_summaries (applicationid, apply_date, status, candidateid, candidate_name, "
+                            + "candidate_email, candidate_cpa, positionid, position_title, planid) "
+                            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                    inserts.stream().map(this::toSummary).toList(), STATUS_BATCH_SIZE, (ps, summary) -> {
+                        ps.setInt(1, summary.getApplicationID());
+                        ps.setObject(2, summary.getApplyDate());
+                        ps.setString(3, summary.getStatus());
+                        ps.setInt(4, summary.getCandidateID());
+                        ps.setString(5, summary.getCandidateName());
+                        ps.setString(6, summary.getCandidateEmail());
+                        ps.setFloat(7, summary.getCandidateCpa());
+                        ps.setInt(8, summary.getPositionID());
+                        ps.setString(9, summary.getPositionTitle());
+                        ps.setInt(10, summary.getPlanID());
+                    });
+        }
+
+        List<ApplicationSubmitResult> results = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            results.add(errors[i] == null
+                    ? new ApplicationSubmitResult(applications[i].getApplicationID(), null)
+                    : new ApplicationSubmitResult(null, errors[i]));
+        }
+        return results;
+    }
+
+    /**
+     * Store the CV and submit the application in one operation. The stored file is
+     * deleted again if the transaction rolls back, so failed submissions leave no orphans.
+     */
+    @Transactional
+    public ApplicationDTO submitApplicationWithCv(ApplicationSubmitRequest request, MultipartFile cv) {
+        String cvPath = fileStorageService.storeFile(cv);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    fileStorageService.deleteStoredFile(cvPath);
+                }
+            }
+        });
+
+        request.setCvPath(cvPath);
+        return submitApplication(request);
+    }
+
+    // List views read the denormalized summary table: one query, no lazy loads
     public List<ApplicationDTO> getAllApplications() {
-        return applicationRepository.findAll().stream()
-                .map(this::convertToDTO)
+        return applicationSummaryRepository.findAll().stream()
+                .map(this::convertSummaryToDTO)
                 .collect(Collectors.toList());
     }
 
     public List<ApplicationDTO> getApplicationsByStatus(String status) {
-        return applicationRepository.findByStatus(status).stream()
-                .map(this::convertToDTO)
+        return applicationSummaryRepository.findByStatus(status).stream()
+                .map(this::convertSummaryToDTO)
                 .collect(Collectors.toList());
     }
 
@@ -95,9 +307,133 @@ public class ApplicationService {
         
         application.setStatus(status);
         Application updated = applicationRepository.save(application);
+        applicationSummaryRepository.updateStatus(applicationId, status);
         return convertToDTO(updated);
     }
 
+    /**
+     * Update the status of many applications in one transaction using batched UPDATEs.
+     * Targets either the explicit id list or, when it is empty, every application of
+     * the given plan that is currently in {@code currentStatus}.
+     */
+    @Transactional
+    public List<StatusUpdateResult> updateApplicationStatuses(BulkStatusUpdateRequest request) {
+        if (request.getStatus() == null || request.getStatus().isBlank()) {
+            throw new RuntimeException("Target status is required");
+        }
+
+        List<Integer> ids = request.getApplicationIDs();
+        if (ids == null || ids.isEmpty()) {
+            if (request.getPlanID() == null || request.getCurrentStatus() == null) {
+                throw new RuntimeException("Either applicationIDs or planID and currentStatus are required");
+            }
+            ids = jdbcTemplate.queryForList(
+                    "SELECT applicationid FROM application_summaries WHERE planid = ? AND status = ?",
+                    Integer.class, request.getPlanID(), request.getCurrentStatus());
+        }
+
+        String status = request.getStatus();
+        int[][] counts = jdbcTemplate.batchUpdate(
+                "UPDATE applications SET status = ? WHERE applicationid = ?",
+                ids, STATUS_BATCH_SIZE, (ps, id) -> {
+                    ps.setString(1, status);
+                    ps.setInt(2, id);
+                });
+        jdbcTemplate.batchUpdate(
+                "UPDATE application_summaries SET status = ? WHERE applicationid = ?",
+                ids, STATUS_BATCH_SIZE, (ps, id) -> {
+                    ps.setString(1, status);
+                    ps.setInt(2, id);
+                });
+
+        List<StatusUpdateResult> results = new ArrayList<>(ids.size());
+        int index = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                Integer id = ids.get(index++);
+                // Some drivers report SUCCESS_NO_INFO for batched statements
+                if (count > 0 || count == Statement.SUCCESS_NO_INFO) {
+                    results.add(new StatusUpdateResult(id, true, null));
+                } else {
+                    results.add(new StatusUpdateResult(id, false, "Application not found with id: " + id));
+                }
+            }
+        }
+        return results;
+    }
+
+    private static Candidate toCandidate(ApplicationSubmitRequest request) {
+        return Candidate.builder()
+                .fullName(request.getFullName())
+                .dateOfBirth(request.getDateOfBirth())
+                .email(request.getEmail())
+                .phone(request.getPhone())
+                .position(request.getPosition())
+                .department(request.getDepartment())
+                .address(request.getAddress())
+                .cpa(request.getCpa())
+                .sex(request.getSex())
+                .cvPath(request.getCvPath())
+                .build();
+    }
+
+    // Emails are compared as the candidate locks and the database collation do
+    /**
+     * Whether the violation is of the named constraint, from Hibernate's extracted name
+     * or, where the dialect does not extract one, the driver's message.
+     */
+    private static boolean violates(DataIntegrityViolationException e, String constraintName) {
+        String name = constraintName.toLowerCase(Locale.ROOT);
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            String text = cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null
+                    ? violation.getConstraintName() : cause.getMessage();
+            if (text != null && text.toLowerCase(Locale.ROOT).contains(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String emailKey(String email) {
+        return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private ApplicationSummary toSummary(Application application) {
+        Candidate candidate = application.getCandidate();
+        JobPosition position = application.getPosition();
+        return ApplicationSummary.builder()
+                .applicationID(application.getApplicationID())
+                .applyDate(application.getApplyDate())
+                .status(application.getStatus())
+                .candidateID(candidate.getCandidateID())
+                .candidateName(candidate.getFullName())
+                .candidateEmail(candidate.getEmail())
+                .candidateCpa(candidate.getCpa())
+                .positionID(position.getPositionID())
+                .positionTitle(position.getTitle())
+                .planID(position.getPlan().getPlanID())
+                .build();
+    }
+
+    private ApplicationDTO convertSummaryToDTO(ApplicationSummary summary) {
+        ApplicationDTO dto = new ApplicationDTO();
+        dto.setApplicationID(summary.getApplicationID());
+        dto.setApplyDate(summary.getApplyDate());
+        dto.setStatus(summary.getStatus());
+
+        // Only the candidate fields carried by the read model are populated
+        CandidateDTO candidateDTO = new CandidateDTO();
+        candidateDTO.setCandidateID(summary.getCandidateID());
+        candidateDTO.setFullName(summary.getCandidateName());
+        candidateDTO.setEmail(summary.getCandidateEmail());
+        candidateDTO.setCpa(summary.getCandidateCpa());
+        dto.setCandidate(candidateDTO);
+
+        dto.setPositionID(summary.getPositionID());
+        dto.setPositionTitle(summary.getPositionTitle());
+        return dto;
+    }
+
     private ApplicationDTO convertToDTO(Application application) {
         ApplicationDTO dto = new ApplicationDTO();
         dto.setApplicationID(application.getApplicationID());
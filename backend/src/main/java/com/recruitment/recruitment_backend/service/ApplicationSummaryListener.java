@@ -0,0 +1,37 @@
+package com.recruitment.recruitment_backend.service;
+
+import com.recruitment.recruitment_backend.model.Candidate;
+import com.recruitment.recruitment_backend.model.JobPosition;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Entity listener on Candidate and JobPosition that copies the fields denormalized into
+ * {@code application_summaries} whenever either is updated through JPA. The update runs
+ * on the writing transaction's connection, so the read model commits or rolls back
+ * with the change. The native candidate upsert bypasses JPA and updates the summaries
+ * itself in ApplicationService.
+ */
+@Component
+public class ApplicationSummaryListener {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ApplicationSummaryListener(@Lazy JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostUpdate
+    public void onUpdate(Object entity) {
+        if (entity instanceof Candidate candidate) {
+            jdbcTemplate.update("UPDATE application_summaries SET candidate_name = ?, candidate_email = ?, "
+                            + "candidate_cpa = ? WHERE candidateid = ?",
+                    candidate.getFullName(), candidate.getEmail(), candidate.getCpa(), candidate.getCandidateID());
+        } else if (entity instanceof JobPosition position) {
+            jdbcTemplate.update("UPDATE application_summaries SET position_title = ?, planid = ? WHERE positionid = ?",
+                    position.getTitle(), position.getPlan().getPlanID(), position.getPositionID());
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.recruitment.recruitment_backend.service;
 
 import com.recruitment.recruitment_backend.dto.LoginRequest;
+import com.recruitment.recruitment_backend.security.PasswordHashingBusyException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -21,6 +22,7 @@ public class AuthService {
      * ✅ Chức năng ĐĂNG NHẬP
      * @param request chứa username & password
      * @return Thông báo thành công hoặc JWT (nếu sau này dùng JWT)
+     * @throws PasswordHashingBusyException nếu hệ thống băm mật khẩu đang quá tải
      */
     public String login(LoginRequest request) {
         try {
@@ -42,6 +44,13 @@ public class AuthService {
             // ❌ Nếu sai username hoặc password
             return "❌ Invalid username or password";
         } catch (Exception e) {
+            // Quá tải không phải là sai mật khẩu, để controller trả về 429
+            if (e instanceof PasswordHashingBusyException busy) {
+                throw busy;
+            }
+            if (e.getCause() instanceof PasswordHashingBusyException busy) {
+                throw busy;
+            }
             // ❌ Các lỗi khác (vd: user bị disable, error config,…)
             return "❌ Login failed: " + e.getMessage();
         }
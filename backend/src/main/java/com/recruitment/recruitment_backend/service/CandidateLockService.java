@@ -0,0 +1,134 @@
+package com.recruitment.recruitment_backend.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Serializes candidate writes that share an email or phone number within this node.
+ * Keys are hashed onto a fixed number of lock stripes, so submissions for unrelated
+ * candidates only wait on each other when their keys land on the same stripe.
+ * <p>
+ * Stripes are held only around the check and the write, not until commit: once the
+ * candidate row is written, the database's own row and unique-key locks hold back the
+ * next writer of the same email or phone until the transaction ends. A long
+ * transaction, such as an intake batch, therefore never keeps stripes from unrelated
+ * applicants.
+ */
+@Service
+public class CandidateLockService {
+
+    private final ReentrantLock[] stripes;
+    private final long timeoutMillis;
+
+    private final LongAdder acquisitions = new LongAdder();
+    private final LongAdder contended = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    public CandidateLockService(@Value("${candidate.lock.stripes:256}") int stripeCount,
+                                @Value("${candidate.lock.timeout-ms:5000}") long timeoutMillis) {
+        // Round up to a power of two so the stripe index is a mask
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Run the action holding the stripes for the given email and phone.
+     */
+    public <T> T callLocked(String email, String phone, Supplier<T> action) {
+        return callLocked(List.of(email == null ? "" : email), List.of(phone == null ? "" : phone), action);
+    }
+
+    /**
+     * Run the action holding the stripes for all the given emails and phones, as a
+     * batch writer does around its multi-row upsert. Stripes are taken in index order
+     * so two writers can never deadlock on each other.
+     */
+    public <T> T callLocked(Collection<String> emails, Collection<String> phones, Supplier<T> action) {
+        SortedSet<Integer> indexes = new TreeSet<>();
+        emails.forEach(email -> indexes.add(stripeOf(normalizeEmail(email))));
+        phones.forEach(phone -> indexes.add(stripeOf(normalizePhone(phone))));
+
+        List<ReentrantLock> held = new ArrayList<>(indexes.size());
+        try {
+            for (int index : indexes) {
+                acquire(stripes[index]);
+                held.add(stripes[index]);
+            }
+            return action.get();
+        } finally {
+            for (int i = held.size() - 1; i >= 0; i--) {
+                held.get(i).unlock();
+            }
+        }
+    }
+
+    public Map<String, Object> getMetrics() {
+        long count = acquisitions.sum();
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("stripes", stripes.length);
+        metrics.put("acquisitions", count);
+        metrics.put("contended", contended.sum());
+        metrics.put("timeouts", timeouts.sum());
+        metrics.put("averageWaitMicros", count == 0 ? 0 : totalWaitNanos.sum() / count / 1000);
+        metrics.put("maxWaitMicros", maxWaitNanos.get() / 1000);
+        return metrics;
+    }
+
+    int stripeOf(String key) {
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        return h & (stripes.length - 1);
+    }
+
+    static String normalizeEmail(String email) {
+        return "e:" + (email == null ? "" : email.trim().toLowerCase(Locale.ROOT));
+    }
+
+    static String normalizePhone(String phone) {
+        return "p:" + (phone == null ? "" : phone.replaceAll("[^0-9]", ""));
+    }
+
+    private void acquire(ReentrantLock lock) {
+        acquisitions.increment();
+        if (lock.tryLock()) {
+            return;
+        }
+
+        contended.increment();
+        long start = System.nanoTime();
+        boolean locked;
+        try {
+            locked = lock.tryLock(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for candidate lock", e);
+        }
+        long waited = System.nanoTime() - start;
+        totalWaitNanos.add(waited);
+        maxWaitNanos.accumulateAndGet(waited, Math::max);
+        if (!locked) {
+            timeouts.increment();
+            throw new RuntimeException("Timed out waiting for another submission with the same email or phone");
+        }
+    }
+}
@@ -1,8 +1,10 @@
 package com.recruitment.recruitment_backend.service;
 
 import com.recruitment.recruitment_backend.dto.CandidateDTO;
+import com.recruitment.recruitment_backend.dto.CvDocumentDTO;
 import com.recruitment.recruitment_backend.model.Candidate;
 import com.recruitment.recruitment_backend.repository.CandidateRepository;
+import com.recruitment.recruitment_backend.repository.CvDocumentRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -16,6 +18,12 @@ public class CandidateService {
     @Autowired
     private CandidateRepository candidateRepository;
 
+    @Autowired
+    private CandidateLockService candidateLockService;
+
+    @Autowired
+    private CvDocumentRepository cvDocumentRepository;
+
     public List<CandidateDTO> getAllCandidates() {
         return candidateRepository.findAll().stream()
                 .map(this::convertToDTO)
@@ -28,17 +36,37 @@ public class CandidateService {
         return convertToDTO(candidate);
     }
 
+    /**
+     * What the CV pipeline extracted from the candidate's CV; null while it is still pending.
+     */
+    public CvDocumentDTO getCvDocument(Integer id) {
+        Candidate candidate = candidateRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Candidate not found with id: " + id));
+        if (candidate.getCvPath() == null) {
+            throw new RuntimeException("Candidate has no CV: " + id);
+        }
+        return cvDocumentRepository.findById(candidate.getCvPath())
+                .map(document -> new CvDocumentDTO(document.getCvPath(), document.getStatus(),
+                        document.getFileType(), document.getSizeBytes(), document.getSha256(),
+                        document.getWordCount(), document.getPageCount(), document.getExtractedText(),
+                        document.getError(), document.getProcessedAt()))
+                .orElse(null);
+    }
+
     @Transactional
     public CandidateDTO createCandidate(Candidate candidate) {
-        // Check if email or phone already exists
-        if (candidateRepository.findByEmail(candidate.getEmail()).isPresent()) {
-            throw new RuntimeException("Email already exists: " + candidate.getEmail());
-        }
-        if (candidateRepository.findByPhone(candidate.getPhone()).isPresent()) {
-            throw new RuntimeException("Phone number already exists: " + candidate.getPhone());
-        }
-        
-        Candidate saved = candidateRepository.save(candidate);
+        // Concurrent creates for the same email/phone check and insert one at a time;
+        // the unique constraints cover writers on other nodes
+        Candidate saved = candidateLockService.callLocked(candidate.getEmail(), candidate.getPhone(), () -> {
+            // Check if email or phone already exists
+            if (candidateRepository.findByEmail(candidate.getEmail()).isPresent()) {
+                throw new RuntimeException("Email already exists: " + candidate.getEmail());
+            }
+            if (candidateRepository.findByPhone(candidate.getPhone()).isPresent()) {
+                throw new RuntimeException("Phone number already exists: " + candidate.getPhone());
+            }
+            return candidateRepository.save(candidate);
+        });
         return convertToDTO(saved);
     }
 
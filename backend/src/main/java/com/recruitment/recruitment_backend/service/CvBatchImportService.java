@@ -0,0 +1,408 @@
+package com.recruitment.recruitment_backend.service;
+
+import com.recruitment.recruitment_backend.dto.CvImportResult;
+import com.recruitment.recruitment_backend.model.Candidate;
+import com.recruitment.recruitment_backend.model.CvPendingImport;
+import com.recruitment.recruitment_backend.repository.CandidateRepository;
+import com.recruitment.recruitment_backend.repository.CvPendingImportRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Imports a ZIP archive of CVs in one request. The archive is read as a stream, one
+ * entry at a time: each CV is held in memory only while a worker validates and stores
+ * it through {@link FileStorageService}, and only a few are in flight at once, so
+ * neither the archive nor its entries ever touch a temporary file.
+ * <p>
+ * An optional {@code manifest.csv} at the root of the archive, in any position,
+ * describes one candidate per CV. Once every file is stored, the described candidates
+ * are inserted in batches; a batch that fails is retried row by row to find the
+ * offending rows. A CV whose candidate could not be created is deleted again, and a
+ * CV with no manifest row is recorded as a pending import so the orphan collector
+ * leaves it alone until it is attached or {@code cv.import.pending-days} pass.
+ */
+@Service
+public class CvBatchImportService {
+
+    public static final String MANIFEST_NAME = "manifest.csv";
+
+    private static final List<String> MANIFEST_COLUMNS = List.of("file", "fullName", "dateOfBirth", "email",
+            "phone", "position", "department", "address", "cpa", "sex");
+
+    private final FileStorageService fileStorageService;
+    private final CandidateService candidateService;
+    private final CandidateRepository candidateRepository;
+    private final CvPendingImportRepository cvPendingImportRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService executor;
+    private final int inFlightLimit;
+    private final int maxEntries;
+    private final int batchSize;
+
+    public CvBatchImportService(FileStorageService fileStorageService,
+                                CandidateService candidateService,
+                                CandidateRepository candidateRepository,
+                                CvPendingImportRepository cvPendingImportRepository,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${cv.import.workers:0}") int workers,
+                                @Value("${cv.import.max-entries:5000}") int maxEntries,
+                                @Value("${cv.import.batch-size:200}") int batchSize) {
+        this.fileStorageService = fileStorageService;
+        this.candidateService = candidateService;
+        this.candidateRepository = candidateRepository;
+        this.cvPendingImportRepository = cvPendingImportRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        int threads = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "cv-import-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        // One entry per worker being stored and one more waiting, at most 5MB each
+        this.inFlightLimit = threads * 2;
+        this.maxEntries = maxEntries;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Store every CV in the archive and create the candidates its manifest describes.
+     * CVs without a manifest row are only stored; their paths are reported so they can
+     * be attached later. CVs whose manifest row failed are not kept.
+     */
+    public Map<String, Object> importArchive(InputStream archive) throws IOException, InterruptedException {
+        Map<String, CompletableFuture<CvImportResult>> stored = new LinkedHashMap<>();
+        List<CvImportResult> rejected = new ArrayList<>();
+        List<ManifestRow> manifest = null;
+        Semaphore inFlight = new Semaphore(inFlightLimit);
+        int entries = 0;
+
+        try (ZipInputStream zip = new ZipInputStream(archive)) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                String name = entry.getName();
+                if (entry.isDirectory() || isSystemEntry(name)) {
+                    continue;
+                }
+                if (name.equalsIgnoreCase(MANIFEST_NAME)) {
+                    manifest = parseManifest(readLimited(zip));
+                    continue;
+                }
+                if (++entries > maxEntries) {
+                    throw new RuntimeException("Archive has more than " + maxEntries + " files");
+                }
+
+                String fileName = name.substring(name.lastIndexOf('/') + 1);
+                if (stored.containsKey(fileName)) {
+                    rejected.add(new CvImportResult(name, null, null, "Duplicate file name in archive"));
+                    continue;
+                }
+                byte[] content = readLimited(zip);
+                if (content == null) {
+                    rejected.add(new CvImportResult(name, null, null, "File size must not exceed 5MB"));
+                    continue;
+                }
+
+                // Bounds the CVs held in memory while the archive is read ahead of the workers
+                inFlight.acquire();
+                stored.put(fileName, CompletableFuture.supplyAsync(() -> {
+                    try {
+                        String filePath = fileStorageService.storeStream(new ByteArrayInputStream(content));
+                        return new CvImportResult(name, filePath, null, null);
+                    } catch (RuntimeException e) {
+                        return new CvImportResult(name, null, null, e.getMessage());
+                    } finally {
+                        inFlight.release();
+                    }
+                }, executor));
+            }
+        }
+
+        Map<String, CvImportResult> results = new LinkedHashMap<>();
+        for (Map.Entry<String, CompletableFuture<CvImportResult>> file : stored.entrySet()) {
+            results.put(file.getKey(), file.getValue().join());
+        }
+
+        List<CvImportResult> unmatchedRows = new ArrayList<>();
+        if (manifest != null) {
+            Set<String> rejectedFiles = new HashSet<>();
+            rejected.forEach(r -> rejectedFiles.add(r.getEntry().substring(r.getEntry().lastIndexOf('/') + 1)));
+            createCandidates(manifest, results, rejectedFiles, unmatchedRows);
+        }
+        settleUnattached(results.values());
+
+        List<CvImportResult> all = new ArrayList<>(results.values());
+        all.addAll(rejected);
+        all.addAll(unmatchedRows);
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("files", entries);
+        report.put("stored", results.values().stream().filter(r -> r.getFilePath() != null).count());
+        report.put("candidatesCreated", all.stream().filter(r -> r.getCandidateID() != null).count());
+        report.put("failed", all.stream().filter(r -> r.getError() != null).count());
+        report.put("results", all);
+        return report;
+    }
+
+    private void createCandidates(List<ManifestRow> manifest, Map<String, CvImportResult> results,
+                                  Set<String> rejectedFiles, List<CvImportResult> unmatchedRows) {
+        Set<String> emails = new HashSet<>();
+        Set<String> phones = new HashSet<>();
+        List<PendingCandidate> pending = new ArrayList<>();
+        for (ManifestRow row : manifest) {
+            String file = row.values().get("file") == null ? null : row.values().get("file").strip();
+            CvImportResult result = results.get(file);
+            if (result == null && rejectedFiles.contains(file)) {
+                continue;
+            }
+            if (result == null) {
+                unmatchedRows.add(new CvImportResult(file, null, null,
+                        "Manifest line " + row.line() + " names a file that is not in the archive"));
+                continue;
+            }
+            if (result.getFilePath() == null) {
+                continue;
+            }
+            try {
+                Candidate candidate = toCandidate(row, result.getFilePath());
+                if (!emails.add(candidate.getEmail().toLowerCase(Locale.ROOT)) || !phones.add(candidate.getPhone())) {
+                    throw new RuntimeException("Email or phone repeated in manifest line " + row.line());
+                }
+                pending.add(new PendingCandidate(candidate, result));
+            } catch (RuntimeException e) {
+                result.setError(e.getMessage());
+            }
+        }
+
+        for (int from = 0; from < pending.size(); from += batchSize) {
+            writeBatch(pending.subList(from, Math.min(pending.size(), from + batchSize)));
+        }
+    }
+
+    /**
+     * Delete the CVs whose candidate failed, and record the ones nobody claimed yet as
+     * pending so the orphan collector does not take them before they are attached.
+     */
+    private void settleUnattached(Collection<CvImportResult> results) {
+        Instant now = Instant.now();
+        List<CvPendingImport> pending = new ArrayList<>();
+        for (CvImportResult result : results) {
+            if (result.getFilePath() == null || result.getCandidateID() != null) {
+                continue;
+            }
+            if (result.getError() != null) {
+                fileStorageService.deleteStoredFile(result.getFilePath());
+                result.setFilePath(null);
+            } else {
+                pending.add(new CvPendingImport(result.getFilePath(), now));
+            }
+        }
+        cvPendingImportRepository.saveAll(pending);
+    }
+
+    private void writeBatch(List<PendingCandidate> batch) {
+        try {
+            Map<String, Integer> ids = transactionTemplate.execute(status -> {
+                List<Candidate> candidates = batch.stream().map(PendingCandidate::candidate).toList();
+                List<String> takenEmails = candidateRepository.findExistingEmails(
+                        candidates.stream().map(Candidate::getEmail).toList());
+                List<String> takenPhones = candidateRepository.findExistingPhones(
+                        candidates.stream().map(Candidate::getPhone).toList());
+                if (!takenEmails.isEmpty() || !takenPhones.isEmpty()) {
+                    throw new RuntimeException("Batch contains existing candidates");
+                }
+                return candidateRepository.insertAll(candidates);
+            });
+            for (PendingCandidate pending : batch) {
+                pending.result().setCandidateID(ids.get(pending.candidate().getEmail()));
+            }
+        } catch (Exception batchFailure) {
+            // Row by row through the regular path, which reports the exact conflict
+            for (PendingCandidate pending : batch) {
+                try {
+                    pending.result().setCandidateID(candidateService.createCandidate(pending.candidate()).getCandidateID());
+                } catch (Exception e) {
+                    pending.result().setError(e.getMessage());
+                }
+            }
+        }
+    }
+
+    private static Candidate toCandidate(ManifestRow row, String cvPath) {
+        Map<String, String> values = row.values();
+        LocalDate dateOfBirth;
+        Float cpa;
+        try {
+            dateOfBirth = LocalDate.parse(required(values, "dateOfBirth", 10));
+        } catch (DateTimeParseException e) {
+            throw new RuntimeException("dateOfBirth must be yyyy-MM-dd");
+        }
+        try {
+            cpa = Float.valueOf(required(values, "cpa", 10));
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("cpa must be a number");
+        }
+        return Candidate.builder()
+                .fullName(required(values, "fullName", 50))
+                .dateOfBirth(dateOfBirth)
+                .email(required(values, "email", 50))
+                .phone(required(values, "phone", 15))
+                .position(required(values, "position", 50))
+                .department(required(values, "department", 50))
+                .address(required(values, "address", 255))
+                .cpa(cpa)
+                .sex(required(values, "sex", 10))
+                .cvPath(cvPath)
+                .build();
+    }
+
+    private static String required(Map<String, String> values, String column, int maxLength) {
+        String value = values.get(column);
+        if (value == null || value.isBlank()) {
+            throw new RuntimeException(column + " is required");
+        }
+        value = value.strip();
+        if (value.length() > maxLength) {
+            throw new RuntimeException(column + " must not exceed " + maxLength + " characters");
+        }
+        return value;
+    }
+
+    /**
+     * Header row names the columns, in any order; see {@link #MANIFEST_COLUMNS}.
+     */
+    private static List<ManifestRow> parseManifest(byte[] content) {
+        if (content == null) {
+            throw new RuntimeException(MANIFEST_NAME + " must not exceed 5MB");
+        }
+        String text = new String(content, StandardCharsets.UTF_8);
+        if (text.startsWith("\uFEFF")) {
+            text = text.substring(1);
+        }
+        List<List<String>> records = parseCsv(text);
+        if (records.isEmpty()) {
+            return List.of();
+        }
+
+        Map<String, Integer> header = new HashMap<>();
+        List<String> names = records.get(0);
+        for (int i = 0; i < names.size(); i++) {
+            for (String column : MANIFEST_COLUMNS) {
+                if (column.equalsIgnoreCase(names.get(i).strip())) {
+                    header.put(column, i);
+                }
+            }
+        }
+        for (String column : MANIFEST_COLUMNS) {
+            if (!header.containsKey(column)) {
+                throw new RuntimeException(MANIFEST_NAME + " is missing the " + column + " column");
+            }
+        }
+
+        List<ManifestRow> rows = new ArrayList<>(records.size() - 1);
+        for (int line = 1; line < records.size(); line++) {
+            List<String> record = records.get(line);
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+            Map<String, String> values = new HashMap<>();
+            header.forEach((column, index) -> values.put(column, index < record.size() ? record.get(index) : null));
+            rows.add(new ManifestRow(line + 1, values));
+        }
+        return rows;
+    }
+
+    /**
+     * RFC 4180: comma separated, fields optionally quoted, quotes doubled inside quotes.
+     */
+    private static List<List<String>> parseCsv(String text) {
+        List<List<String>> records = new ArrayList<>();
+        List<String> record = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                record.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == '\r') {
+                if (c == '\r' && i + 1 < text.length() && text.charAt(i + 1) == '\n') {
+                    i++;
+                }
+                record.add(field.toString());
+                field.setLength(0);
+                records.add(record);
+                record = new ArrayList<>();
+            } else {
+                field.append(c);
+            }
+        }
+        if (field.length() > 0 || !record.isEmpty()) {
+            record.add(field.toString());
+            records.add(record);
+        }
+        return records;
+    }
+
+    /**
+     * The entry's bytes, or null if it is larger than a CV may be.
+     */
+    private static byte[] readLimited(ZipInputStream zip) throws IOException {
+        byte[] content = zip.readNBytes((int) FileStorageService.MAX_CV_SIZE + 1);
+        return content.length > FileStorageService.MAX_CV_SIZE ? null : content;
+    }
+
+    private static boolean isSystemEntry(String name) {
+        String fileName = name.substring(name.lastIndexOf('/') + 1);
+        // Finder and Explorer metadata that ends up in hand-made archives
+        return name.startsWith("__MACOSX/") || fileName.startsWith(".") || fileName.equalsIgnoreCase("Thumbs.db");
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private record ManifestRow(int line, Map<String, String> values) {
+    }
+
+    private record PendingCandidate(Candidate candidate, CvImportResult result) {
+    }
+}
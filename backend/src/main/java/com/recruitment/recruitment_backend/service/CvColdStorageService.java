@@ -0,0 +1,93 @@
+package com.recruitment.recruitment_backend.service;
+
+import com.recruitment.recruitment_backend.repository.CandidateRepository;
+import com.recruitment.recruitment_backend.service.storage.CvBlobStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Moves the CVs of long-closed recruitment plans out of the upload tree into
+ * compressed pack files (see {@link CvPackStore}). Downloads keep working through
+ * {@link CvDownloadService}, which falls back to the packs when the loose file is gone.
+ */
+@Service
+public class CvColdStorageService {
+
+    private static final Logger log = LoggerFactory.getLogger(CvColdStorageService.class);
+
+    private final CvBlobStore cvBlobStore;
+    private final CvPackStore cvPackStore;
+    private final CandidateRepository candidateRepository;
+    private final boolean enabled;
+    private final long minAgeDays;
+
+    public CvColdStorageService(CvBlobStore cvBlobStore,
+                                CvPackStore cvPackStore,
+                                CandidateRepository candidateRepository,
+                                @Value("${file.cold-storage.enabled:true}") boolean enabled,
+                                @Value("${file.cold-storage.min-age-days:180}") long minAgeDays) {
+        this.cvBlobStore = cvBlobStore;
+        this.cvPackStore = cvPackStore;
+        this.candidateRepository = candidateRepository;
+        this.enabled = enabled;
+        this.minAgeDays = minAgeDays;
+    }
+
+    @Scheduled(cron = "${file.cold-storage.cron:0 30 3 * * SUN}")
+    public void scheduledTiering() {
+        if (!enabled) {
+            return;
+        }
+        Map<String, Object> report = moveClosedPlansToColdStorage();
+        log.info("CV cold storage finished: packed={}, bytesBefore={}, bytesAfter={}",
+                report.get("packed"), report.get("bytesBefore"), report.get("bytesAfter"));
+    }
+
+    public Map<String, Object> moveClosedPlansToColdStorage() {
+        LocalDate cutoff = LocalDate.now().minusDays(minAgeDays);
+        List<String> cvPaths = candidateRepository.findCvPathsOfPlansClosedBefore(cutoff);
+
+        int packed = 0;
+        int failed = 0;
+        long bytesBefore = 0;
+        long bytesAfter = 0;
+        for (String cvPath : cvPaths) {
+            String fileName = cvPath.substring(cvPath.lastIndexOf('/') + 1);
+            // Only local blobs are packed; a remote store has its own cold storage classes
+            Path file = FileStorageService.isValidFileName(fileName) ? cvBlobStore.localPath(fileName) : null;
+            if (file == null) {
+                // Already packed, missing, or not stored locally
+                continue;
+            }
+            try {
+                var entry = cvPackStore.append(file, fileName);
+                cvBlobStore.delete(fileName);
+                packed++;
+                bytesBefore += entry.getOriginalLength();
+                bytesAfter += entry.getCompressedLength();
+            } catch (IOException | RuntimeException e) {
+                failed++;
+                log.warn("Could not move CV {} to cold storage", fileName, e);
+            }
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("cutoff", cutoff.toString());
+        report.put("candidates", cvPaths.size());
+        report.put("packed", packed);
+        report.put("failed", failed);
+        report.put("bytesBefore", bytesBefore);
+        report.put("bytesAfter", bytesAfter);
+        return report;
+    }
+}
@@ -0,0 +1,251 @@
+package com.recruitment.recruitment_backend.service;
+
+import com.recruitment.recruitment_backend.model.CvPackEntry;
+import com.recruitment.recruitment_backend.service.storage.CvBlobStore;
+import com.recruitment.recruitment_backend.service.storage.CvBlobStore.BlobStat;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Writes stored CVs to the response with strong ETags, the caller's caching policy
+ * and single byte-range support. Local files go out with Tomcat's sendfile when the
+ * connector offers it, otherwise {@link FileChannel#transferTo} into the response
+ * channel; blobs in a remote store are relayed from a ranged GET. CVs moved to the
+ * cold tier are decompressed on the fly, or sent as stored with {@code Content-Encoding: gzip}.
+ */
+@Service
+public class CvDownloadService {
+
+    private static final Pattern SHA256_NAME = Pattern.compile("[0-9a-f]{64}");
+
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final CvBlobStore cvBlobStore;
+    private final CvPackStore cvPackStore;
+
+    public CvDownloadService(CvBlobStore cvBlobStore, CvPackStore cvPackStore) {
+        this.cvBlobStore = cvBlobStore;
+        this.cvPackStore = cvPackStore;
+    }
+
+    public void serve(String fileName, String cacheControl,
+                      HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (!FileStorageService.isValidFileName(fileName)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        BlobStat stat = cvBlobStore.stat(fileName);
+        CvPackEntry packed = null;
+        long length;
+        long lastModified;
+        if (stat != null) {
+            length = stat.length();
+            lastModified = stat.lastModified().toEpochMilli();
+        } else {
+            // Not in the upload tree any more: look in the cold tier
+            packed = cvPackStore.find(fileName).orElse(null);
+            if (packed == null) {
+                response.sendError(HttpServletResponse.SC_NOT_FOUND);
+                return;
+            }
+            length = packed.getOriginalLength();
+            lastModified = packed.getOriginalModified().toEpochMilli();
+        }
+
+        String etag = etagFor(fileName, length, lastModified);
+        // Serve the stored gzip member as is when the client takes it and wants the whole file
+        boolean passGzip = packed != null
+                && request.getHeader(HttpHeaders.RANGE) == null
+                && acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        String responseEtag = passGzip ? gzipEtag(etag) : etag;
+
+        response.setHeader(HttpHeaders.ETAG, responseEtag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (packed != null) {
+            response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (matchesAny(ifNoneMatch, etag) || (packed != null && matchesAny(ifNoneMatch, gzipEtag(etag)))) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        response.setContentType(contentTypeFor(fileName));
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + fileName + "\"");
+
+        if (passGzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            response.setContentLengthLong(packed.getCompressedLength());
+            if (!"HEAD".equals(request.getMethod())) {
+                sendRange(cvPackStore.packFile(packed), packed.getPackOffset(),
+                        packed.getPackOffset() + packed.getCompressedLength() - 1, request, response);
+            }
+            return;
+        }
+
+        long start = 0;
+        long end = length - 1;
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (rangeHeader != null && length > 0 && (ifRange == null || ifRange.equals(etag))) {
+            List<HttpRange> ranges;
+            try {
+                ranges = HttpRange.parseRanges(rangeHeader);
+            } catch (IllegalArgumentException e) {
+                ranges = List.of();
+            }
+            // Viewers ask for one range at a time; multi-range requests get the whole file
+            if (ranges.size() == 1) {
+                HttpRange range = ranges.get(0);
+                start = range.getRangeStart(length);
+                end = range.getRangeEnd(length);
+                if (start >= length || start > end) {
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                    response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                    return;
+                }
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+        }
+
+        long count = end - start + 1;
+        response.setContentLengthLong(count);
+        if ("HEAD".equals(request.getMethod()) || count <= 0) {
+            return;
+        }
+
+        if (packed != null) {
+            // Ranges of a cold CV are cut from the decompressed stream
+            try (InputStream in = cvPackStore.openDecompressed(packed)) {
+                in.skipNBytes(start);
+                copy(in, count, response.getOutputStream());
+            }
+            return;
+        }
+
+        Path file = cvBlobStore.localPath(fileName);
+        if (file != null) {
+            sendRange(file, start, end, request, response);
+            return;
+        }
+        // Remote store: relay a ranged GET, never holding more than one buffer
+        try (InputStream in = cvBlobStore.get(fileName, start, end)) {
+            copy(in, count, response.getOutputStream());
+        }
+    }
+
+    private static void copy(InputStream in, long count, OutputStream out) throws IOException {
+        byte[] buffer = new byte[64 * 1024];
+        long remaining = count;
+        while (remaining > 0) {
+            int read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+            if (read == -1) {
+                break;
+            }
+            out.write(buffer, 0, read);
+            remaining -= read;
+        }
+    }
+
+    private static void sendRange(Path file, long start, long end,
+                                  HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            // Tomcat writes the file straight from the page cache after the servlet returns
+            request.setAttribute(SENDFILE_FILENAME, file.toRealPath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = end - start + 1;
+            while (remaining > 0) {
+                long written = channel.transferTo(position, remaining, out);
+                if (written <= 0) {
+                    break;
+                }
+                position += written;
+                remaining -= written;
+            }
+        }
+    }
+
+    public static String etagFor(String fileName, long length, long lastModified) {
+        // Content-addressed blobs are named by their SHA-256, which is already a strong validator
+        int dot = fileName.indexOf('.');
+        String stem = dot < 0 ? fileName : fileName.substring(0, dot);
+        if (SHA256_NAME.matcher(stem).matches()) {
+            return "\"sha256-" + stem + "\"";
+        }
+        return "\"" + fileName + "-" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
+    }
+
+    public static String contentTypeFor(String fileName) {
+        String lower = fileName.toLowerCase(Locale.ROOT);
+        if (lower.endsWith(".pdf")) {
+            return "application/pdf";
+        } else if (lower.endsWith(".doc")) {
+            return "application/msword";
+        } else if (lower.endsWith(".docx")) {
+            return "application/vnd.openxmlformats-officedocument.wordprocessingml.document";
+        }
+        return "application/octet-stream";
+    }
+
+    private static String gzipEtag(String etag) {
+        return etag.substring(0, etag.length() - 1) + "-gzip\"";
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                // gzip;q=0 means "anything but gzip"
+                return parts.length < 2 || !parts[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    private static boolean matchesAny(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
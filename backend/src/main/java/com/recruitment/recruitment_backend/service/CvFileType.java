@@ -0,0 +1,149 @@
+package com.recruitment.recruitment_backend.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.ZipFile;
+
+/**
+ * CV formats accepted for upload, detected from the file's leading magic bytes and
+ * then confirmed from the container structure, since the magic bytes alone only say
+ * "some ZIP" or "some OLE2 compound file".
+ */
+public enum CvFileType {
+    PDF(".pdf", "application/pdf"),
+    DOC(".doc", "application/msword"),
+    DOCX(".docx", "application/vnd.openxmlformats-officedocument.wordprocessingml.document");
+
+    /** Number of leading bytes needed by {@link #detect}. */
+    public static final int HEADER_LENGTH = 8;
+
+    private static final byte[] PDF_MAGIC = {'%', 'P', 'D', 'F', '-'};
+    private static final byte[] OLE2_MAGIC = {(byte) 0xD0, (byte) 0xCF, 0x11, (byte) 0xE0,
+            (byte) 0xA1, (byte) 0xB1, 0x1A, (byte) 0xE1};
+    private static final byte[] ZIP_MAGIC = {'P', 'K', 0x03, 0x04};
+
+    private static final int OLE2_HEADER_LENGTH = 512;
+    private static final int OLE2_DIRECTORY_ENTRY_LENGTH = 128;
+    // Sector ids of the first FAT sectors are listed in the header; enough for files well over the CV limit
+    private static final int OLE2_HEADER_DIFAT_ENTRIES = 109;
+
+    private final String extension;
+    private final String contentType;
+
+    CvFileType(String extension, String contentType) {
+        this.extension = extension;
+        this.contentType = contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * @return the detected type, or null if the header matches no accepted format
+     */
+    public static CvFileType detect(byte[] header, int length) {
+        if (startsWith(header, length, PDF_MAGIC)) {
+            return PDF;
+        }
+        if (startsWith(header, length, OLE2_MAGIC)) {
+            return DOC;
+        }
+        // DOCX is an OOXML zip package
+        if (startsWith(header, length, ZIP_MAGIC)) {
+            return DOCX;
+        }
+        return null;
+    }
+
+    /**
+     * Check that a complete file detected as this type really is a CV of that type: a
+     * DOCX must be an OOXML package with a main document part, and a DOC a compound
+     * file holding a WordDocument stream. A PDF has no further check.
+     */
+    public boolean matchesStructure(Path file) {
+        try {
+            return switch (this) {
+                case PDF -> true;
+                case DOCX -> isWordPackage(file);
+                case DOC -> hasWordDocumentStream(Files.readAllBytes(file));
+            };
+        } catch (IOException | RuntimeException e) {
+            // Truncated or corrupt containers are simply not CVs
+            return false;
+        }
+    }
+
+    private static boolean isWordPackage(Path file) throws IOException {
+        try (ZipFile zip = new ZipFile(file.toFile())) {
+            return zip.getEntry("[Content_Types].xml") != null && zip.getEntry("word/document.xml") != null;
+        }
+    }
+
+    /**
+     * Walk the compound file's directory chain through the FAT looking for the
+     * WordDocument stream that every Word 97-2003 document has.
+     */
+    private static boolean hasWordDocumentStream(byte[] file) {
+        if (file.length < OLE2_HEADER_LENGTH) {
+            return false;
+        }
+        ByteBuffer data = ByteBuffer.wrap(file).order(ByteOrder.LITTLE_ENDIAN);
+        int sectorShift = data.getShort(30);
+        if (sectorShift != 9 && sectorShift != 12) {
+            return false;
+        }
+        int sectorSize = 1 << sectorShift;
+        int entriesPerFatSector = sectorSize / 4;
+        int fatSectors = Math.min(data.getInt(44), OLE2_HEADER_DIFAT_ENTRIES);
+        int maxSectors = file.length / sectorSize;
+
+        int sector = data.getInt(48);
+        // Bounded by the file size, so a cyclic chain cannot loop forever
+        for (int visited = 0; sector >= 0 && visited < maxSectors; visited++) {
+            int offset = (sector + 1) * sectorSize;
+            if (offset + sectorSize > file.length) {
+                return false;
+            }
+            for (int entry = offset; entry < offset + sectorSize; entry += OLE2_DIRECTORY_ENTRY_LENGTH) {
+                int nameLength = data.getShort(entry + 64);
+                if (nameLength > 2 && nameLength <= 64 && "WordDocument".equals(
+                        new String(file, entry, nameLength - 2, StandardCharsets.UTF_16LE))) {
+                    return true;
+                }
+            }
+
+            int fatIndex = sector / entriesPerFatSector;
+            if (fatIndex >= fatSectors) {
+                return false;
+            }
+            int fatSector = data.getInt(76 + fatIndex * 4);
+            int next = (fatSector + 1) * sectorSize + (sector % entriesPerFatSector) * 4;
+            if (fatSector < 0 || next + 4 > file.length) {
+                return false;
+            }
+            sector = data.getInt(next);
+        }
+        return false;
+    }
+
+    private static boolean startsWith(byte[] header, int length, byte[] magic) {
+        if (length < magic.length) {
+            return false;
+        }
+        for (int i = 0; i < magic.length; i++) {
+            if (header[i] != magic[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,158 @@
+package com.recruitment.recruitment_backend.service;
+
+import com.recruitment.recruitment_backend.repository.CandidateRepository;
+import com.recruitment.recruitment_backend.repository.CvDocumentRepository;
+import com.recruitment.recruitment_backend.repository.CvPendingImportRepository;
+import com.recruitment.recruitment_backend.service.storage.CvBlobStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Finds stored CV files that no candidate references any more and removes them. The
+ * blob store lists the files past the grace period (the local store walks its tree in
+ * parallel), and the names are checked against Candidates.cvPath in batched IN queries.
+ * CVs of a ZIP import still waiting to be attached count as referenced until their
+ * pending entry expires. The pipeline's CvDocuments rows for deleted files go with
+ * them. Packed CVs are reclaimed in the same run, see {@link CvPackStore#reclaim()}.
+ */
+@Service
+public class CvOrphanCollector {
+
+    private static final Logger log = LoggerFactory.getLogger(CvOrphanCollector.class);
+
+    private static final int QUERY_BATCH_SIZE = 500;
+    private static final int REPORTED_ORPHANS_LIMIT = 100;
+
+    private final CvBlobStore cvBlobStore;
+    private final CvPackStore cvPackStore;
+    private final CandidateRepository candidateRepository;
+    private final CvPendingImportRepository cvPendingImportRepository;
+    private final CvDocumentRepository cvDocumentRepository;
+    private final Duration gracePeriod;
+    private final Duration pendingRetention;
+    private final boolean deleteOrphans;
+
+    public CvOrphanCollector(CvBlobStore cvBlobStore,
+                             CvPackStore cvPackStore,
+                             CandidateRepository candidateRepository,
+                             CvPendingImportRepository cvPendingImportRepository,
+                             CvDocumentRepository cvDocumentRepository,
+                             @Value("${file.orphan-collector.grace-hours:24}") long graceHours,
+                             @Value("${cv.import.pending-days:30}") long pendingDays,
+                             @Value("${file.orphan-collector.delete:true}") boolean deleteOrphans) {
+        this.cvBlobStore = cvBlobStore;
+        this.cvPackStore = cvPackStore;
+        this.candidateRepository = candidateRepository;
+        this.cvPendingImportRepository = cvPendingImportRepository;
+        this.cvDocumentRepository = cvDocumentRepository;
+        this.pendingRetention = Duration.ofDays(pendingDays);
+        // Uploads are referenced only once the application is submitted, so young files are skipped
+        this.gracePeriod = Duration.ofHours(graceHours);
+        this.deleteOrphans = deleteOrphans;
+    }
+
+    @Scheduled(cron = "${file.orphan-collector.cron:0 0 3 * * *}")
+    public void scheduledCollect() {
+        Map<String, Object> report = collect();
+        log.info("CV orphan collection finished: scanned={}, orphans={}, deleted={}, packs={}",
+                report.get("scanned"), report.get("orphans"), report.get("deleted"), report.get("packs"));
+    }
+
+    public Map<String, Object> collect() {
+        Instant cutoff = Instant.now().minus(gracePeriod);
+        Instant pendingCutoff = Instant.now().minus(pendingRetention);
+        cvPendingImportRepository.deleteExpired(pendingCutoff);
+        List<String> files;
+        try {
+            files = cvBlobStore.listOlderThan(cutoff);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        List<String> orphans = new ArrayList<>();
+        for (int from = 0; from < files.size(); from += QUERY_BATCH_SIZE) {
+            List<String> batch = files.subList(from, Math.min(from + QUERY_BATCH_SIZE, files.size()));
+            Map<String, String> byStoredPath = new HashMap<>();
+            for (String name : batch) {
+                if (name.endsWith(".part")) {
+                    // Leftover of an interrupted upload, never referenced
+                    orphans.add(name);
+                } else {
+                    byStoredPath.put("/uploads/cv/" + name, name);
+                }
+            }
+            if (byStoredPath.isEmpty()) {
+                continue;
+            }
+            Set<String> referenced = new HashSet<>(candidateRepository.findReferencedCvPaths(byStoredPath.keySet()));
+            referenced.addAll(cvPendingImportRepository.findPendingCvPaths(byStoredPath.keySet(), pendingCutoff));
+            byStoredPath.forEach((storedPath, name) -> {
+                if (!referenced.contains(storedPath)) {
+                    orphans.add(name);
+                }
+            });
+        }
+
+        int deleted = 0;
+        int documentsDeleted = 0;
+        if (deleteOrphans) {
+            List<String> gonePaths = new ArrayList<>();
+            for (String orphan : orphans) {
+                try {
+                    // A content-addressed upload may have reused the blob since it was listed
+                    CvBlobStore.BlobStat stat = cvBlobStore.stat(orphan);
+                    if (stat != null && stat.lastModified().isAfter(cutoff)) {
+                        continue;
+                    }
+                    boolean removed = cvBlobStore.delete(orphan);
+                    if (removed) {
+                        deleted++;
+                    }
+                    if ((removed || stat == null) && !orphan.endsWith(".part")) {
+                        gonePaths.add("/uploads/cv/" + orphan);
+                    }
+                } catch (IOException | RuntimeException e) {
+                    log.warn("Could not delete orphan CV {}", orphan, e);
+                }
+            }
+            // What the pipeline extracted from a file is no use once the file is gone
+            for (int from = 0; from < gonePaths.size(); from += QUERY_BATCH_SIZE) {
+                List<String> batch = gonePaths.subList(from, Math.min(from + QUERY_BATCH_SIZE, gonePaths.size()));
+                documentsDeleted += cvDocumentRepository.deleteByCvPaths(batch);
+            }
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("scanned", files.size());
+        report.put("orphans", orphans.size());
+        report.put("deleted", deleted);
+        report.put("documentsDeleted", documentsDeleted);
+        if (deleteOrphans) {
+            // Loose files are only half of it; cold CVs live in packs
+            try {
+                report.put("packs", cvPackStore.reclaim());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        report.put("orphanFiles", orphans.stream()
+                .limit(REPORTED_ORPHANS_LIMIT)
+                .toList());
+        return report;
+    }
+}
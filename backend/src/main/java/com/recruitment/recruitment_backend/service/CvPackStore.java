@@ -0,0 +1,259 @@
+package com.recruitment.recruitment_backend.service;
+
+import com.recruitment.recruitment_backend.model.CvPackEntry;
+import com.recruitment.recruitment_backend.repository.CvPackEntryRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Append-only pack files for the cold CV tier. Every CV is written as its own gzip
+ * member at the end of the current pack, and its offset is recorded in
+ * {@link CvPackEntry}. A member can therefore be decompressed on its own, or its bytes
+ * sent unchanged to a client that accepts {@code Content-Encoding: gzip}.
+ * <p>
+ * Space is reclaimed by {@link #reclaim()}: entries of CVs nobody references are
+ * dropped, and a pack whose indexed members fall below
+ * {@code file.cold-storage.compact-below} of its size has them copied to the current
+ * pack. The old pack file is only deleted by the following run, once it has no
+ * entries, so a download that looked up its entry before the move can still finish.
+ */
+@Service
+public class CvPackStore {
+
+    private static final DateTimeFormatter PACK_NAME = DateTimeFormatter.ofPattern("'pack-'yyyyMMdd-HHmmss'.gz'");
+
+    private final CvPackEntryRepository cvPackEntryRepository;
+    private final Path packDirectory;
+    private final long maxPackBytes;
+    private final double compactBelow;
+
+    private Path currentPack;
+
+    public CvPackStore(FileStorageService fileStorageService,
+                       CvPackEntryRepository cvPackEntryRepository,
+                       @Value("${file.cold-storage.pack-max-mb:256}") long maxPackMb,
+                       @Value("${file.cold-storage.compact-below:0.5}") double compactBelow) {
+        this.cvPackEntryRepository = cvPackEntryRepository;
+        this.maxPackBytes = maxPackMb * 1024 * 1024;
+        this.compactBelow = compactBelow;
+        this.packDirectory = fileStorageService.getStorageLocation().resolve(".packs");
+        try {
+            Files.createDirectories(this.packDirectory);
+        } catch (IOException ex) {
+            throw new RuntimeException("Could not create the CV pack directory.", ex);
+        }
+    }
+
+    public Optional<CvPackEntry> find(String fileName) {
+        return cvPackEntryRepository.findById(fileName);
+    }
+
+    public Path packFile(CvPackEntry entry) {
+        return packDirectory.resolve(entry.getPackName());
+    }
+
+    /**
+     * Compress a loose CV onto the end of the current pack and index it. The caller
+     * removes the loose file once this returns; until then reads still find it first.
+     */
+    public synchronized CvPackEntry append(Path source, String fileName) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(source, BasicFileAttributes.class);
+        Path pack = packForAppend();
+        long offset;
+        long end;
+        try (FileChannel channel = FileChannel.open(pack, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            offset = channel.size();
+            channel.position(offset);
+            OutputStream out = Channels.newOutputStream(channel);
+            GZIPOutputStream gzip = new GZIPOutputStream(out, 64 * 1024) {
+                {
+                    def.setLevel(Deflater.BEST_COMPRESSION);
+                }
+            };
+            Files.copy(source, gzip);
+            gzip.finish();
+            gzip.flush();
+            end = channel.position();
+            // The index must never point at bytes that are not on disk yet
+            channel.force(false);
+        }
+
+        CvPackEntry entry = CvPackEntry.builder()
+                .fileName(fileName)
+                .packName(pack.getFileName().toString())
+                .packOffset(offset)
+                .compressedLength(end - offset)
+                .originalLength(attributes.size())
+                .originalModified(attributes.lastModifiedTime().toInstant())
+                .packedAt(Instant.now())
+                .build();
+        return cvPackEntryRepository.save(entry);
+    }
+
+    /**
+     * Stream of the decompressed CV. Bounded to the member, since GZIPInputStream would
+     * otherwise carry on into the next CV of the pack.
+     */
+    public InputStream openDecompressed(CvPackEntry entry) throws IOException {
+        FileChannel channel = FileChannel.open(packFile(entry), StandardOpenOption.READ);
+        return new GZIPInputStream(new SliceInputStream(channel, entry.getPackOffset(), entry.getCompressedLength()), 64 * 1024);
+    }
+
+    /**
+     * Drop unreferenced entries, delete packs with no entries left and compact sparse
+     * ones. The pack being appended to is left alone.
+     */
+    public synchronized Map<String, Object> reclaim() throws IOException {
+        List<CvPackEntry> unreferenced = cvPackEntryRepository.findUnreferenced();
+        cvPackEntryRepository.deleteAllInBatch(unreferenced);
+
+        Map<String, Long> liveBytes = new HashMap<>();
+        for (Object[] row : cvPackEntryRepository.sumCompressedLengthByPack()) {
+            liveBytes.put((String) row[0], ((Number) row[1]).longValue());
+        }
+
+        Path active = packForAppend();
+        List<Path> packs = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(packDirectory, "pack-*.gz")) {
+            files.forEach(packs::add);
+        }
+
+        int packsDeleted = 0;
+        int packsCompacted = 0;
+        long bytesFreed = 0;
+        for (Path pack : packs) {
+            if (pack.equals(active)) {
+                continue;
+            }
+            long size = Files.size(pack);
+            long live = liveBytes.getOrDefault(pack.getFileName().toString(), 0L);
+            if (live == 0) {
+                Files.deleteIfExists(pack);
+                packsDeleted++;
+                bytesFreed += size;
+            } else if (live < size * compactBelow) {
+                // Its space is freed when the next run deletes it
+                compact(pack);
+                packsCompacted++;
+            }
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("entriesRemoved", unreferenced.size());
+        report.put("packsDeleted", packsDeleted);
+        report.put("packsCompacted", packsCompacted);
+        report.put("bytesFreed", bytesFreed);
+        return report;
+    }
+
+    /**
+     * Copy the indexed members of a pack, still compressed, onto the current pack and
+     * repoint their entries.
+     */
+    private void compact(Path pack) throws IOException {
+        List<CvPackEntry> entries = cvPackEntryRepository.findByPackNameOrderByPackOffset(pack.getFileName().toString());
+        try (FileChannel source = FileChannel.open(pack, StandardOpenOption.READ)) {
+            for (CvPackEntry entry : entries) {
+                Path target = packForAppend();
+                try (FileChannel channel = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                    long offset = channel.size();
+                    long copied = 0;
+                    while (copied < entry.getCompressedLength()) {
+                        copied += source.transferTo(entry.getPackOffset() + copied,
+                                entry.getCompressedLength() - copied, channel.position(offset + copied));
+                    }
+                    channel.force(false);
+                    entry.setPackName(target.getFileName().toString());
+                    entry.setPackOffset(offset);
+                }
+            }
+        }
+        cvPackEntryRepository.saveAll(entries);
+    }
+
+    private Path packForAppend() throws IOException {
+        if (currentPack == null) {
+            // Continue the newest pack after a restart; names sort by creation time
+            try (DirectoryStream<Path> packs = Files.newDirectoryStream(packDirectory, "pack-*.gz")) {
+                for (Path pack : packs) {
+                    if (currentPack == null || pack.getFileName().toString().compareTo(currentPack.getFileName().toString()) > 0) {
+                        currentPack = pack;
+                    }
+                }
+            }
+        }
+        // A pack named but not written yet, e.g. by reclaim, counts as empty
+        if (currentPack == null || (Files.exists(currentPack) && Files.size(currentPack) >= maxPackBytes)) {
+            Path next = packDirectory.resolve(LocalDateTime.now().format(PACK_NAME));
+            while (Files.exists(next) || (currentPack != null && next.equals(currentPack))) {
+                // Two packs rolled within the same second
+                next = packDirectory.resolve(next.getFileName().toString().replace(".gz", "-1.gz"));
+            }
+            currentPack = next;
+        }
+        return currentPack;
+    }
+
+    /**
+     * Positional reads of one byte range of a channel; closing it closes the channel.
+     */
+    private static class SliceInputStream extends InputStream {
+        private final FileChannel channel;
+        private long position;
+        private final long end;
+
+        SliceInputStream(FileChannel channel, long offset, long length) {
+            this.channel = channel;
+            this.position = offset;
+            this.end = offset + length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) == -1 ? -1 : one[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] buffer, int off, int len) throws IOException {
+            if (position >= end) {
+                return -1;
+            }
+            int count = (int) Math.min(len, end - position);
+            int read = channel.read(ByteBuffer.wrap(buffer, off, count), position);
+            if (read > 0) {
+                position += read;
+            }
+            return read;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package com.recruitment.recruitment_backend.service;
+
+import com.recruitment.recruitment_backend.model.CvDocument;
+import com.recruitment.recruitment_backend.model.CvPackEntry;
+import com.recruitment.recruitment_backend.repository.CvDocumentRepository;
+import com.recruitment.recruitment_backend.service.storage.CvBlobStore;
+import com.recruitment.recruitment_backend.service.storage.CvBlobStore.BlobStat;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Background processing of stored CVs: magic-byte validation, SHA-256 hashing and, for
+ * DOCX, text extraction, all in one streaming pass per file. Results are saved as
+ * {@link CvDocument} rows next to the candidate's cvPath.
+ * <p>
+ * Uploads only enqueue the file name and never wait: the pool has a fixed number of
+ * workers and a bounded queue, and when a deadline burst fills the queue new CVs are
+ * skipped rather than blocking. The backfill sweep later picks up every referenced CV
+ * that has no result yet, so nothing skipped is lost.
+ */
+@Service
+public class CvProcessingPipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(CvProcessingPipeline.class);
+
+    private final CvBlobStore cvBlobStore;
+    private final CvPackStore cvPackStore;
+    private final CvDocumentRepository cvDocumentRepository;
+    private final ThreadPoolExecutor executor;
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong processed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong deferred = new AtomicLong();
+
+    public CvProcessingPipeline(CvBlobStore cvBlobStore,
+                                CvPackStore cvPackStore,
+                                CvDocumentRepository cvDocumentRepository,
+                                @Value("${cv.pipeline.workers:0}") int workers,
+                                @Value("${cv.pipeline.queue-capacity:1000}") int queueCapacity) {
+        this.cvBlobStore = cvBlobStore;
+        this.cvPackStore = cvPackStore;
+        this.cvDocumentRepository = cvDocumentRepository;
+        int threads = workers > 0 ? workers : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "cv-pipeline-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    // Below request threads: processing must not slow uploads down
+                    thread.setPriority(Thread.NORM_PRIORITY - 1);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Runs after the storing transaction commits, so uploads that are rolled back are
+     * never processed; stores outside a transaction are processed right away.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCvStored(CvStoredEvent event) {
+        submit(event.cvPath());
+    }
+
+    /**
+     * Queue a CV for processing without blocking.
+     * @return false if it is already queued or the queue is full
+     */
+    public boolean submit(String cvPath) {
+        if (!inFlight.add(cvPath)) {
+            return false;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    process(cvPath);
+                } finally {
+                    inFlight.remove(cvPath);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(cvPath);
+            deferred.incrementAndGet();
+            return false;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${cv.pipeline.backfill-interval-ms:60000}")
+    public void backfill() {
+        int room = executor.getQueue().remainingCapacity();
+        if (room == 0) {
+            return;
+        }
+        List<String> cvPaths = cvDocumentRepository.findUnprocessedCvPaths(PageRequest.of(0, room));
+        cvPaths.forEach(this::submit);
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("workers", executor.getMaximumPoolSize());
+        metrics.put("active", executor.getActiveCount());
+        metrics.put("queued", executor.getQueue().size());
+        metrics.put("queueCapacity", executor.getQueue().size() + executor.getQueue().remainingCapacity());
+        metrics.put("processed", processed.get());
+        metrics.put("failed", failed.get());
+        metrics.put("deferredToBackfill", deferred.get());
+        return metrics;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        // Queued files are picked up again by the backfill after restart
+        executor.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    void process(String cvPath) {
+        // Stored names are never reused for other content, so one result per path is final
+        if (cvDocumentRepository.existsById(cvPath)) {
+            return;
+        }
+        CvDocument document;
+        try {
+            document = analyze(cvPath);
+            processed.incrementAndGet();
+        } catch (Exception e) {
+            failed.incrementAndGet();
+            log.warn("CV processing failed for {}", cvPath, e);
+            document = CvDocument.builder()
+                    .cvPath(cvPath)
+                    .status(CvDocument.STATUS_FAILED)
+                    .error(truncate(e.toString()))
+                    .processedAt(Instant.now())
+                    .build();
+        }
+        try {
+            cvDocumentRepository.save(document);
+        } catch (RuntimeException e) {
+            // Not recorded, so the backfill will try again
+            log.warn("Could not save CV processing result for {}", cvPath, e);
+        }
+    }
+
+    CvDocument analyze(String cvPath) throws IOException {
+        String fileName = cvPath.substring(cvPath.lastIndexOf('/') + 1);
+        CvDocument document = CvDocument.builder()
+                .cvPath(cvPath)
+                .processedAt(Instant.now())
+                .build();
+
+        InputStream source = null;
+        if (FileStorageService.isValidFileName(fileName)) {
+            BlobStat stat = cvBlobStore.stat(fileName);
+            if (stat != null) {
+                document.setSizeBytes(stat.length());
+                source = stat.length() > 0 ? cvBlobStore.get(fileName, 0, stat.length() - 1) : InputStream.nullInputStream();
+            } else {
+                CvPackEntry packed = cvPackStore.find(fileName).orElse(null);
+                if (packed != null) {
+                    document.setSizeBytes(packed.getOriginalLength());
+                    source = cvPackStore.openDecompressed(packed);
+                }
+            }
+        }
+        if (source == null) {
+            document.setStatus(CvDocument.STATUS_MISSING);
+            return document;
+        }
+
+        MessageDigest sha256 = newSha256();
+        try (DigestInputStream in = new DigestInputStream(new BufferedInputStream(source, 64 * 1024), sha256)) {
+            // Validation: the content must be what the name claims
+            byte[] header = in.readNBytes(CvFileType.HEADER_LENGTH);
+            CvFileType type = CvFileType.detect(header, header.length);
+            if (type == null) {
+                document.setStatus(CvDocument.STATUS_REJECTED);
+                document.setError("Content is not a PDF or Word document");
+            } else {
+                document.setFileType(type.name());
+                if (!fileName.toLowerCase(Locale.ROOT).endsWith(type.getExtension())) {
+                    document.setStatus(CvDocument.STATUS_REJECTED);
+                    document.setError("Content is " + type.name() + " but the file is named " + fileName);
+                } else if (type == CvFileType.DOCX) {
+                    // Extraction reads from the same stream the digest is computed over
+                    try {
+                        DocxTextExtractor.Result text = DocxTextExtractor.extract(
+                                new SequenceInputStream(new ByteArrayInputStream(header), in));
+                        document.setExtractedText(text.text());
+                        document.setWordCount(text.wordCount());
+                        document.setPageCount(text.pageCount());
+                        document.setStatus(CvDocument.STATUS_PROCESSED);
+                    } catch (IOException e) {
+                        document.setStatus(CvDocument.STATUS_REJECTED);
+                        document.setError(truncate(e.getMessage()));
+                    }
+                } else {
+                    document.setStatus(CvDocument.STATUS_PROCESSED);
+                }
+            }
+            // Hashing: the digest covers every byte, whatever the earlier stages read
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        document.setSha256(HexFormat.of().formatHex(sha256.digest()));
+        return document;
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() <= 255 ? message : message.substring(0, 255);
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.recruitment.recruitment_backend.service;
+
+/**
+ * Published by {@link FileStorageService} whenever a CV is stored.
+ * @param cvPath the stored path, e.g. {@code /uploads/cv/<name>}
+ */
+public record CvStoredEvent(String cvPath) {
+}
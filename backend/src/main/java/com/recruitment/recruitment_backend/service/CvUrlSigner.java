@@ -0,0 +1,105 @@
+package com.recruitment.recruitment_backend.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Mints and checks time-limited CV URLs of the form
+ * {@code /uploads/cv/<name>?expires=<epoch seconds>&signature=<HMAC-SHA256>}.
+ * Checking needs only the shared secret, no database. Expiry times are rounded up to
+ * a fixed window, so every viewer of a CV within the window gets the same URL and an
+ * edge cache can serve them all.
+ */
+@Service
+public class CvUrlSigner {
+
+    public static final String PATH_PREFIX = "/uploads/cv/";
+    public static final String EXPIRES_PARAM = "expires";
+    public static final String SIGNATURE_PARAM = "signature";
+
+    private static final Logger log = LoggerFactory.getLogger(CvUrlSigner.class);
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final SecretKeySpec key;
+    private final long ttlSeconds;
+    private final long windowSeconds;
+    private final ThreadLocal<Mac> macs;
+
+    public CvUrlSigner(@Value("${file.signed-url.secret:}") String secret,
+                       @Value("${file.signed-url.ttl-seconds:900}") long ttlSeconds,
+                       @Value("${file.signed-url.window-seconds:300}") long windowSeconds) {
+        byte[] keyBytes;
+        if (StringUtils.hasText(secret)) {
+            keyBytes = secret.getBytes(StandardCharsets.UTF_8);
+        } else {
+            keyBytes = new byte[32];
+            new SecureRandom().nextBytes(keyBytes);
+            log.warn("file.signed-url.secret is not set; signed CV URLs will not survive a restart or work across instances");
+        }
+        this.key = new SecretKeySpec(keyBytes, ALGORITHM);
+        this.ttlSeconds = ttlSeconds;
+        this.windowSeconds = Math.max(1, windowSeconds);
+        this.macs = ThreadLocal.withInitial(this::newMac);
+    }
+
+    public record SignedUrl(String url, Instant expiresAt) {
+    }
+
+    public SignedUrl sign(String fileName) {
+        long expires = Instant.now().getEpochSecond() + ttlSeconds;
+        expires = ((expires + windowSeconds - 1) / windowSeconds) * windowSeconds;
+        String url = PATH_PREFIX + fileName + "?" + EXPIRES_PARAM + "=" + expires
+                + "&" + SIGNATURE_PARAM + "=" + signature(fileName, expires);
+        return new SignedUrl(url, Instant.ofEpochSecond(expires));
+    }
+
+    /**
+     * @return seconds until the URL expires, or -1 if the signature is missing, wrong or expired
+     */
+    public long verify(String fileName, String expires, String signature) {
+        if (fileName == null || expires == null || signature == null) {
+            return -1;
+        }
+        long expiresAt;
+        try {
+            expiresAt = Long.parseLong(expires);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+        long remaining = expiresAt - Instant.now().getEpochSecond();
+        if (remaining <= 0) {
+            return -1;
+        }
+        byte[] expected = signature(fileName, expiresAt).getBytes(StandardCharsets.US_ASCII);
+        // Constant time, so the signature cannot be guessed byte by byte
+        return MessageDigest.isEqual(expected, signature.getBytes(StandardCharsets.US_ASCII)) ? remaining : -1;
+    }
+
+    private String signature(String fileName, long expires) {
+        Mac mac = macs.get();
+        byte[] digest = mac.doFinal((fileName + "\n" + expires).getBytes(StandardCharsets.UTF_8));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(ALGORITHM + " not available", e);
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.recruitment.recruitment_backend.service;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Plain text of a DOCX file with nothing but the JDK: the zip package is read as a
+ * stream and {@code word/document.xml} is pulled through StAX, so memory stays flat
+ * whatever the document size. The page count comes from {@code docProps/app.xml},
+ * where Word records it on save.
+ */
+final class DocxTextExtractor {
+
+    static final int MAX_TEXT_CHARS = 200_000;
+    // Guards against zip bombs: no CV body expands to this much XML
+    static final long MAX_XML_BYTES = 32L * 1024 * 1024;
+
+    private static final String WORD_NS = "http://schemas.openxmlformats.org/wordprocessingml/2006/main";
+    private static final XMLInputFactory XML_INPUT_FACTORY = newXmlInputFactory();
+
+    record Result(String text, int wordCount, Integer pageCount) {
+    }
+
+    private DocxTextExtractor() {
+    }
+
+    /**
+     * Reads the package up to its end; the caller's stream is left open.
+     * @throws IOException if the stream is not a zip package with a word/document.xml
+     */
+    static Result extract(InputStream in) throws IOException {
+        ZipInputStream zip = new ZipInputStream(new FilterInputStream(in) {
+            @Override
+            public void close() {
+            }
+        });
+        TextCollector text = null;
+        Integer pageCount = null;
+        ZipEntry entry;
+        while ((entry = zip.getNextEntry()) != null) {
+            if (entry.getName().equals("word/document.xml")) {
+                text = readDocument(new LimitedInputStream(zip, MAX_XML_BYTES));
+            } else if (entry.getName().equals("docProps/app.xml")) {
+                pageCount = readPageCount(new LimitedInputStream(zip, MAX_XML_BYTES));
+            }
+            zip.closeEntry();
+        }
+        if (text == null) {
+            throw new IOException("Not a Word document: word/document.xml is missing");
+        }
+        return new Result(text.toString(), text.wordCount, pageCount);
+    }
+
+    private static TextCollector readDocument(InputStream xml) throws IOException {
+        TextCollector text = new TextCollector();
+        XMLStreamReader reader = null;
+        try {
+            reader = XML_INPUT_FACTORY.createXMLStreamReader(xml);
+            boolean inText = false;
+            while (reader.hasNext()) {
+                switch (reader.next()) {
+                    case XMLStreamConstants.START_ELEMENT -> {
+                        if (WORD_NS.equals(reader.getNamespaceURI())) {
+                            switch (reader.getLocalName()) {
+                                case "t" -> inText = true;
+                                case "tab" -> text.append('\t');
+                                case "br", "cr" -> text.append('\n');
+                                default -> {
+                                }
+                            }
+                        }
+                    }
+                    case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA -> {
+                        if (inText) {
+                            text.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+                        }
+                    }
+                    case XMLStreamConstants.END_ELEMENT -> {
+                        if (WORD_NS.equals(reader.getNamespaceURI())) {
+                            if (reader.getLocalName().equals("t")) {
+                                inText = false;
+                            } else if (reader.getLocalName().equals("p")) {
+                                text.append('\n');
+                            }
+                        }
+                    }
+                    default -> {
+                    }
+                }
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException("Malformed word/document.xml", e);
+        } finally {
+            closeQuietly(reader);
+        }
+        return text;
+    }
+
+    private static Integer readPageCount(InputStream xml) throws IOException {
+        XMLStreamReader reader = null;
+        try {
+            reader = XML_INPUT_FACTORY.createXMLStreamReader(xml);
+            while (reader.hasNext()) {
+                if (reader.next() == XMLStreamConstants.START_ELEMENT && reader.getLocalName().equals("Pages")) {
+                    return Integer.valueOf(reader.getElementText().trim());
+                }
+            }
+            return null;
+        } catch (XMLStreamException | NumberFormatException e) {
+            // The count is informative only; a broken app.xml does not fail the document
+            return null;
+        } finally {
+            closeQuietly(reader);
+        }
+    }
+
+    private static void closeQuietly(XMLStreamReader reader) {
+        if (reader != null) {
+            try {
+                reader.close();
+            } catch (XMLStreamException ignored) {
+                // Nothing held beyond the underlying stream, which the caller owns
+            }
+        }
+    }
+
+    private static XMLInputFactory newXmlInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        // Uploaded files are untrusted: no DTDs, no external entities
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, false);
+        return factory;
+    }
+
+    /**
+     * Keeps the first {@link #MAX_TEXT_CHARS} characters and counts words over all of them.
+     */
+    private static class TextCollector {
+        private final StringBuilder text = new StringBuilder();
+        private int wordCount;
+        private boolean inWord;
+
+        void append(char c) {
+            count(c);
+            if (text.length() < MAX_TEXT_CHARS) {
+                text.append(c);
+            }
+        }
+
+        void append(char[] chars, int start, int length) {
+            for (int i = start; i < start + length; i++) {
+                count(chars[i]);
+            }
+            int room = MAX_TEXT_CHARS - text.length();
+            if (room > 0) {
+                text.append(chars, start, Math.min(room, length));
+            }
+        }
+
+        private void count(char c) {
+            boolean wordChar = !Character.isWhitespace(c) && !Character.isSpaceChar(c);
+            if (wordChar && !inWord) {
+                wordCount++;
+            }
+            inWord = wordChar;
+        }
+
+        @Override
+        public String toString() {
+            return text.toString().strip();
+        }
+    }
+
+    private static class LimitedInputStream extends FilterInputStream {
+        private long remaining;
+
+        LimitedInputStream(InputStream in, long limit) {
+            super(in);
+            this.remaining = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                consumed(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int off, int len) throws IOException {
+            int read = super.read(buffer, off, len);
+            if (read > 0) {
+                consumed(read);
+            }
+            return read;
+        }
+
+        private void consumed(int count) throws IOException {
+            remaining -= count;
+            if (remaining < 0) {
+                throw new IOException("Document XML exceeds " + MAX_XML_BYTES + " bytes");
+            }
+        }
+
+        @Override
+        public void close() {
+            // The zip entry is closed by the caller
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.recruitment.recruitment_backend.service;
+
+import com.recruitment.recruitment_backend.model.JobPosting;
+import com.recruitment.recruitment_backend.model.RecruitmentNotification;
+import com.recruitment.recruitment_backend.model.RecruitmentPlan;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * Entity listener on JobPosting, RecruitmentPlan and RecruitmentNotification that
+ * bumps the matching counter in {@link EntityVersionRegistry} whenever one is written.
+ */
+@Component
+public class EntityVersionListener {
+
+    private final EntityVersionRegistry entityVersionRegistry;
+
+    public EntityVersionListener(@Lazy EntityVersionRegistry entityVersionRegistry) {
+        this.entityVersionRegistry = entityVersionRegistry;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        if (entity instanceof JobPosting posting) {
+            entityVersionRegistry.bump(EntityVersionRegistry.POSTINGS, posting.getPostID());
+        } else if (entity instanceof RecruitmentPlan plan) {
+            entityVersionRegistry.bump(EntityVersionRegistry.PLANS, plan.getPlanID());
+        } else if (entity instanceof RecruitmentNotification notification) {
+            entityVersionRegistry.bump(EntityVersionRegistry.NOTIFICATIONS, notification.getId());
+        }
+    }
+}
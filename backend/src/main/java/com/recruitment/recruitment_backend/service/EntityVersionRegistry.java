@@ -0,0 +1,168 @@
+package com.recruitment.recruitment_backend.service;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Change counters for the aggregates behind the public endpoints. A write bumps its
+ * counter in the {@code entity_versions} table inside the writing transaction, so the
+ * counter moves if and only if the write commits. Reads come from an in-memory copy,
+ * refreshed after local commits and polled for writes made by other instances, so
+ * answering a conditional request never touches the database.
+ */
+@Service
+public class EntityVersionRegistry {
+
+    public static final String POSTINGS = "postings";
+    public static final String PLANS = "plans";
+    public static final String NOTIFICATIONS = "notifications";
+
+    private static final Logger log = LoggerFactory.getLogger(EntityVersionRegistry.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final List<CommitListener> commitListeners = new CopyOnWriteArrayList<>();
+    private volatile Map<String, Long> versions = Map.of();
+
+    public EntityVersionRegistry(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${entity-version.refresh-interval-ms:2000}")
+    public void refresh() {
+        Map<String, Long> loaded = new HashMap<>();
+        jdbcTemplate.query("SELECT aggregate, version FROM entity_versions",
+                rs -> {
+                    loaded.put(rs.getString("aggregate"), rs.getLong("version"));
+                });
+        versions = Map.copyOf(loaded);
+    }
+
+    public long version(String aggregate) {
+        return versions.getOrDefault(aggregate, 0L);
+    }
+
+    /**
+     * The combined version of several aggregates, for responses built from all of them.
+     */
+    public String tag(String... aggregates) {
+        Map<String, Long> current = versions;
+        StringBuilder tag = new StringBuilder();
+        for (String aggregate : aggregates) {
+            if (!tag.isEmpty()) {
+                tag.append('.');
+            }
+            tag.append(current.getOrDefault(aggregate, 0L));
+        }
+        return tag.toString();
+    }
+
+    /**
+     * Called after a local commit with the ids written per aggregate, before the new
+     * versions become visible through {@link #tag}. Each call stands for exactly one
+     * step of that aggregate's counter.
+     */
+    public interface CommitListener {
+        void committed(String aggregate, Set<Object> ids);
+    }
+
+    public void addCommitListener(CommitListener listener) {
+        commitListeners.add(listener);
+    }
+
+    /**
+     * Count a write to the aggregate. Inside a transaction the counter is bumped at
+     * most once per aggregate, on the transaction's own connection, and the local copy
+     * is refreshed after commit.
+     * @param id the written entity's id, handed to commit listeners
+     */
+    public void bump(String aggregate, Object id) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            increment(aggregate);
+            notifyCommitted(Map.of(aggregate, id == null ? Set.of() : Set.of(id)));
+            refresh();
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<String, Set<Object>> bumped = (Map<String, Set<Object>>) TransactionSynchronizationManager.getResource(this);
+        if (bumped == null) {
+            Map<String, Set<Object>> pending = new HashMap<>();
+            bumped = pending;
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    notifyCommitted(pending);
+                    refresh();
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(EntityVersionRegistry.this);
+                }
+            });
+        }
+        Set<Object> ids = bumped.get(aggregate);
+        if (ids == null) {
+            ids = new HashSet<>();
+            bumped.put(aggregate, ids);
+            increment(aggregate);
+        }
+        if (id != null) {
+            ids.add(id);
+        }
+    }
+
+    private void notifyCommitted(Map<String, Set<Object>> committed) {
+        committed.forEach((aggregate, ids) -> {
+            for (CommitListener listener : commitListeners) {
+                try {
+                    listener.committed(aggregate, ids);
+                } catch (RuntimeException e) {
+                    log.warn("Commit listener failed for {}", aggregate, e);
+                }
+            }
+        });
+    }
+
+    private void increment(String aggregate) {
+        int updated = jdbcTemplate.update("UPDATE entity_versions SET version = version + 1 WHERE aggregate = ?", aggregate);
+        if (updated == 0) {
+            log.warn("No entity_versions row for {}; its ETags will not change", aggregate);
+        }
+    }
+
+    /**
+     * Whether an If-None-Match header names the given ETag, so the response is a 304.
+     */
+    public static boolean matchesIfNoneMatch(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            // Weak comparison, as If-None-Match requires
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,24 +1,42 @@
 package com.recruitment.recruitment_backend.service;
 
+import com.recruitment.recruitment_backend.service.storage.CvBlobStore;
+import com.recruitment.recruitment_backend.service.storage.LocalCvBlobStore;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 import java.util.UUID;
 
 @Service
 public class FileStorageService {
 
+    public static final long MAX_CV_SIZE = 5 * 1024 * 1024;
+
     private final Path fileStorageLocation;
+    private final boolean contentAddressed;
+    private final CvBlobStore cvBlobStore;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public FileStorageService(@Value("${file.upload-dir:uploads/cv}") String uploadDir) {
+    public FileStorageService(@Value("${file.upload-dir:uploads/cv}") String uploadDir,
+                              @Value("${file.content-addressed:false}") boolean contentAddressed,
+                              CvBlobStore cvBlobStore,
+                              ApplicationEventPublisher eventPublisher) {
         this.fileStorageLocation = Paths.get(uploadDir).toAbsolutePath().normalize();
+        this.contentAddressed = contentAddressed;
+        this.cvBlobStore = cvBlobStore;
+        this.eventPublisher = eventPublisher;
         try {
             Files.createDirectories(this.fileStorageLocation);
         } catch (Exception ex) {
@@ -26,37 +44,240 @@ public class FileStorageService {
         }
     }
 
+    /**
+     * Check an uploaded CV against the allowed types and the 5MB limit. The type comes
+     * from the file's magic bytes; the declared content type and file name are the
+     * client's word and are ignored. Storing the file confirms its structure.
+     * @return an error message, or null if the file is acceptable
+     */
+    public String validateCvFile(MultipartFile file) {
+        if (file == null || file.isEmpty()) {
+            return "File is empty";
+        }
+
+        if (file.getSize() > MAX_CV_SIZE) {
+            return "File size must not exceed 5MB";
+        }
+
+        try (InputStream in = file.getInputStream()) {
+            byte[] header = in.readNBytes(CvFileType.HEADER_LENGTH);
+            if (CvFileType.detect(header, header.length) == null) {
+                return "Only PDF and Word documents are allowed";
+            }
+        } catch (IOException ex) {
+            return "Could not read the uploaded file";
+        }
+        return null;
+    }
+
+    /**
+     * Store a multipart upload. Like {@link #storeStream}, the stored extension follows
+     * the detected type, not the client's file name.
+     */
     public String storeFile(MultipartFile file) {
-        // Normalize file name
-        String originalFileName = StringUtils.cleanPath(file.getOriginalFilename());
-        
+        String originalFileName = StringUtils.cleanPath(String.valueOf(file.getOriginalFilename()));
+        try (InputStream in = file.getInputStream()) {
+            return write(in);
+        } catch (IOException ex) {
+            throw new RuntimeException("Could not store file " + originalFileName + ". Please try again!", ex);
+        }
+    }
+
+    /**
+     * Stream a CV straight from the request body to its final location. The type is
+     * taken from the leading magic bytes rather than the declared content type, and the
+     * upload is aborted as soon as it exceeds {@link #MAX_CV_SIZE}.
+     * @return the stored path, in the same form as {@link #storeFile}
+     */
+    public String storeStream(InputStream in) {
         try {
-            // Check if the file's name contains invalid characters
-            if (originalFileName.contains("..")) {
-                throw new RuntimeException("Sorry! Filename contains invalid path sequence " + originalFileName);
+            return write(in);
+        } catch (IOException ex) {
+            throw new RuntimeException("Could not store file. Please try again!", ex);
+        }
+    }
+
+    /**
+     * Store a file that was assembled locally, e.g. by a resumable upload. The file is
+     * only read to detect its type and hash it, then renamed into place.
+     * @return the stored path, in the same form as {@link #storeFile}
+     */
+    public String storeAssembledFile(Path source) {
+        try {
+            if (Files.size(source) > MAX_CV_SIZE) {
+                throw new RuntimeException("File size must not exceed 5MB");
+            }
+            MessageDigest digest = newSha256();
+            CvFileType type;
+            try (InputStream in = Files.newInputStream(source)) {
+                byte[] buffer = new byte[64 * 1024];
+                int headerLength = readHeader(in, buffer);
+                type = detectType(buffer, headerLength);
+                digest.update(buffer, 0, headerLength);
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    digest.update(buffer, 0, read);
+                }
+            }
+            requireStructure(type, source);
+            return place(source, digest.digest(), type.getExtension());
+        } catch (IOException ex) {
+            throw new RuntimeException("Could not store file. Please try again!", ex);
+        } finally {
+            try {
+                Files.deleteIfExists(source);
+            } catch (IOException ignored) {
+                // Best effort cleanup of a rejected or deduplicated upload
             }
+        }
+    }
 
-            // Generate unique filename
-            String fileExtension = "";
-            if (originalFileName.contains(".")) {
-                fileExtension = originalFileName.substring(originalFileName.lastIndexOf("."));
+    /**
+     * Write the stream to a temporary file while hashing it, check its type, then move
+     * it into place.
+     */
+    private String write(InputStream in) throws IOException {
+        MessageDigest digest = newSha256();
+        Path partial = this.fileStorageLocation.resolve(UUID.randomUUID() + ".part");
+        try {
+            byte[] buffer = new byte[64 * 1024];
+            int headerLength = readHeader(in, buffer);
+            CvFileType type = detectType(buffer, headerLength);
+
+            long total = headerLength;
+            try (OutputStream out = Files.newOutputStream(partial)) {
+                out.write(buffer, 0, headerLength);
+                digest.update(buffer, 0, headerLength);
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    total += read;
+                    if (total > MAX_CV_SIZE) {
+                        throw new RuntimeException("File size must not exceed 5MB");
+                    }
+                    out.write(buffer, 0, read);
+                    digest.update(buffer, 0, read);
+                }
+            }
+            requireStructure(type, partial);
+            return place(partial, digest.digest(), type.getExtension());
+        } finally {
+            try {
+                Files.deleteIfExists(partial);
+            } catch (IOException ignored) {
+                // Best effort cleanup of an aborted or deduplicated upload
             }
-            String newFileName = UUID.randomUUID().toString() + fileExtension;
+        }
+    }
 
-            // Copy file to the target location (Replacing existing file with the same name)
-            Path targetLocation = this.fileStorageLocation.resolve(newFileName);
-            Files.copy(file.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
+    /**
+     * Hand a fully written file to the blob store under its final name: a random UUID,
+     * or the SHA-256 digest in content-addressed mode, where an identical existing blob
+     * is reused instead.
+     */
+    private String place(Path source, byte[] digest, String extension) throws IOException {
+        String baseName = contentAddressed ? HexFormat.of().formatHex(digest) : UUID.randomUUID().toString();
+        String newFileName = baseName + extension;
+        if (contentAddressed && cvBlobStore.stat(newFileName) != null) {
+            // Same content already stored, reference the existing blob. Touch it so the
+            // orphan collector's grace period covers the new, not yet committed reference.
+            cvBlobStore.touch(newFileName);
+        } else {
+            cvBlobStore.putFile(newFileName, source);
+        }
+        String storedPath = "/uploads/cv/" + newFileName;
+        // Validation, hashing and text extraction happen in the background
+        eventPublisher.publishEvent(new CvStoredEvent(storedPath));
+        return storedPath;
+    }
 
-            return "/uploads/cv/" + newFileName;
-        } catch (IOException ex) {
-            throw new RuntimeException("Could not store file " + originalFileName + ". Please try again!", ex);
+    private static CvFileType detectType(byte[] header, int headerLength) {
+        if (headerLength == 0) {
+            throw new RuntimeException("File is empty");
+        }
+        CvFileType type = CvFileType.detect(header, headerLength);
+        if (type == null) {
+            throw new RuntimeException("Only PDF and Word documents are allowed");
+        }
+        return type;
+    }
+
+    // Magic bytes only say ZIP or compound file; the whole file says whether it is a Word document
+    private static void requireStructure(CvFileType type, Path file) {
+        if (!type.matchesStructure(file)) {
+            throw new RuntimeException("Only PDF and Word documents are allowed");
+        }
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static int readHeader(InputStream in, byte[] buffer) throws IOException {
+        int length = 0;
+        while (length < CvFileType.HEADER_LENGTH) {
+            int read = in.read(buffer, length, CvFileType.HEADER_LENGTH - length);
+            if (read == -1) {
+                break;
+            }
+            length += read;
+        }
+        return length;
+    }
+
+    /**
+     * Stored names are plain file names; anything that could climb out of the store is rejected.
+     */
+    public static boolean isValidFileName(String fileName) {
+        return fileName != null && !fileName.isEmpty() && !fileName.contains("/")
+                && !fileName.contains("\\") && !fileName.contains("..");
+    }
+
+    /**
+     * Local working directory for partial uploads, upload sessions and cold packs. With
+     * the local blob store the CVs themselves are stored here too.
+     */
+    public Path getStorageLocation() {
+        return fileStorageLocation;
+    }
+
+    /**
+     * Move files still lying in the flat upload directory into the sharded layout.
+     * Only applies to the local blob store.
+     * @return number of files moved
+     */
+    public int migrateToShardedLayout() {
+        if (cvBlobStore instanceof LocalCvBlobStore local) {
+            return local.migrateToShardedLayout();
         }
+        return 0;
     }
 
+    /**
+     * Delete a stored file by the path returned from {@link #storeFile}.
+     */
+    public void deleteStoredFile(String storedPath) {
+        deleteFile(storedPath.substring(storedPath.lastIndexOf('/') + 1));
+    }
+
+    /**
+     * In content-addressed mode a blob may be shared, and a reference to it may be
+     * committing right now, so nothing is deleted here: {@link CvOrphanCollector}
+     * removes it once it has gone unreferenced for the whole grace period, which
+     * every new reference restarts by touching the blob.
+     */
     public void deleteFile(String fileName) {
+        if (contentAddressed) {
+            return;
+        }
+        if (!isValidFileName(fileName)) {
+            return;
+        }
         try {
-            Path filePath = this.fileStorageLocation.resolve(fileName).normalize();
-            Files.deleteIfExists(filePath);
+            cvBlobStore.delete(fileName);
         } catch (IOException ex) {
             throw new RuntimeException("Could not delete file " + fileName + ". Please try again!", ex);
         }
@@ -0,0 +1,80 @@
+package com.recruitment.recruitment_backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The public job board as ready-to-send bytes: the JSON of all open postings, plus
+ * the same JSON gzipped, built once and reused for every anonymous request until the
+ * posting or plan version in {@link EntityVersionRegistry} moves. Only one rebuild runs at a time; requests arriving during
+ * it wait for its result instead of querying the database themselves.
+ */
+@Service
+public class JobBoardSnapshotService {
+
+    private final JobPostingService jobPostingService;
+    private final EntityVersionRegistry entityVersionRegistry;
+    private final ObjectMapper objectMapper;
+    private volatile Snapshot snapshot;
+
+    public JobBoardSnapshotService(JobPostingService jobPostingService,
+                                   EntityVersionRegistry entityVersionRegistry,
+                                   ObjectMapper objectMapper) {
+        this.jobPostingService = jobPostingService;
+        this.entityVersionRegistry = entityVersionRegistry;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * @param json the serialized postings
+     * @param gzip {@code json}, gzip-compressed
+     * @param version the posting and plan versions the snapshot was built from
+     */
+    public record Snapshot(byte[] json, byte[] gzip, String version) {
+    }
+
+    /**
+     * The version the next response will carry, known without building anything.
+     */
+    public String currentVersion() {
+        return entityVersionRegistry.tag(EntityVersionRegistry.POSTINGS, EntityVersionRegistry.PLANS);
+    }
+
+    public Snapshot get() {
+        Snapshot current = snapshot;
+        if (current != null && current.version().equals(currentVersion())) {
+            return current;
+        }
+        synchronized (this) {
+            current = snapshot;
+            // Read before querying: a change committed mid-build leaves this snapshot stale
+            String buildVersion = currentVersion();
+            if (current == null || !current.version().equals(buildVersion)) {
+                current = build(buildVersion);
+                snapshot = current;
+            }
+            return current;
+        }
+    }
+
+    private Snapshot build(String buildVersion) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(jobPostingService.getActiveJobPostings());
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4 + 64);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(json);
+            }
+            return new Snapshot(json, compressed.toByteArray(), buildVersion);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize the job board", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
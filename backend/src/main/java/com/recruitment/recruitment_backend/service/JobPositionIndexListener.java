@@ -0,0 +1,28 @@
+package com.recruitment.recruitment_backend.service;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * Entity listener on JobPosition, RecruitmentPlan and JobPosting that invalidates the
+ * {@link JobPositionResolver} index whenever either is written.
+ */
+@Component
+public class JobPositionIndexListener {
+
+    private final JobPositionResolver jobPositionResolver;
+
+    public JobPositionIndexListener(@Lazy JobPositionResolver jobPositionResolver) {
+        this.jobPositionResolver = jobPositionResolver;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        jobPositionResolver.invalidate();
+    }
+}
@@ -0,0 +1,150 @@
+package com.recruitment.recruitment_backend.service;
+
+import com.recruitment.recruitment_backend.model.JobPosition;
+import com.recruitment.recruitment_backend.model.RecruitmentPlan;
+import com.recruitment.recruitment_backend.repository.JobPositionRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Picks the job position for a submission that did not name one, by matching the
+ * requested position/department text against positions whose plan has an open job
+ * posting that is still before its deadline. Backed by an in-memory index that is
+ * rebuilt after plans, positions or postings change, so submissions never scan the
+ * JobPositions table. A submission whose text matches no open position is refused
+ * rather than filed under an unrelated one.
+ */
+@Service
+public class JobPositionResolver {
+
+    private static final String OPEN_POSTING_STATUS = "Đang mở";
+
+    private final JobPositionRepository jobPositionRepository;
+    private volatile Index index;
+    // Bumped by every invalidation, so a rebuild that raced with a write is not kept
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public JobPositionResolver(JobPositionRepository jobPositionRepository) {
+        this.jobPositionRepository = jobPositionRepository;
+    }
+
+    /**
+     * @return the id of the best matching open position
+     * @throws RuntimeException if no open position matches the text
+     */
+    public Integer resolve(String position, String department) {
+        LocalDate today = LocalDate.now();
+        // The index is not rebuilt at midnight, so deadlines are checked on every lookup
+        List<Entry> matches = index().byText.getOrDefault(normalize(position), List.of()).stream()
+                .filter(entry -> !entry.deadline().isBefore(today))
+                .toList();
+        if (matches.isEmpty()) {
+            throw new RuntimeException("No open job position matches '" + position
+                    + "', please choose a position (positionID)");
+        }
+        String dept = normalize(department);
+        if (!dept.isEmpty()) {
+            for (Entry entry : matches) {
+                if (entry.school().contains(dept) || entry.planTitle().contains(dept)) {
+                    return entry.positionID();
+                }
+            }
+        }
+        return matches.get(0).positionID();
+    }
+
+    /**
+     * Drop the index once the current transaction commits, so the next rebuild sees the change.
+     */
+    public void invalidate() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    drop();
+                }
+            });
+        } else {
+            drop();
+        }
+    }
+
+    private void drop() {
+        invalidations.incrementAndGet();
+        index = null;
+    }
+
+    private Index index() {
+        Index current = index;
+        if (current == null) {
+            synchronized (this) {
+                current = index;
+                if (current == null) {
+                    long generation = invalidations.get();
+                    current = build(jobPositionRepository.findOpenFetchPlan(OPEN_POSTING_STATUS, LocalDate.now()));
+                    // A write committed during the load may be missing from it; use it once, keep it not
+                    if (invalidations.get() == generation) {
+                        index = current;
+                    }
+                }
+            }
+        }
+        return current;
+    }
+
+    private static Index build(List<Object[]> rows) {
+        List<Entry> entries = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            JobPosition position = (JobPosition) row[0];
+            RecruitmentPlan plan = position.getPlan();
+            entries.add(new Entry(position.getPositionID(), plan.getPlanID(), (LocalDate) row[1],
+                    normalize(position.getTitle()), normalize(position.getPosition()),
+                    normalize(plan.getPosition()), normalize(plan.getSchool()), normalize(plan.getTitle())));
+        }
+        // Newest plan first, so ties resolve to the latest recruitment round
+        entries.sort(Comparator.comparing(Entry::planID).thenComparing(Entry::positionID).reversed());
+
+        Map<String, List<Entry>> byText = new HashMap<>();
+        for (Entry entry : entries) {
+            for (String key : new String[] {entry.title(), entry.position(), entry.planPosition()}) {
+                if (!key.isEmpty()) {
+                    List<Entry> bucket = byText.computeIfAbsent(key, k -> new ArrayList<>());
+                    if (!bucket.contains(entry)) {
+                        bucket.add(entry);
+                    }
+                }
+            }
+        }
+        return new Index(byText);
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        // Compare without case, accents or repeated whitespace ("Giảng viên" == "giang vien")
+        String stripped = Normalizer.normalize(text, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .replace('đ', 'd')
+                .replace('Đ', 'D');
+        return stripped.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private record Entry(Integer positionID, Integer planID, LocalDate deadline, String title, String position,
+                         String planPosition, String school, String planTitle) {
+    }
+
+    private record Index(Map<String, List<Entry>> byText) {
+    }
+}
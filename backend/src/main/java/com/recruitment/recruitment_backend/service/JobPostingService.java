@@ -6,12 +6,15 @@ import com.recruitment.recruitment_backend.repository.JobPostingRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
 public class JobPostingService {
 
+    private static final String OPEN_STATUS = "Đang mở";
+
     @Autowired
     private JobPostingRepository jobPostingRepository;
 
@@ -22,7 +25,19 @@ public class JobPostingService {
     }
 
     public List<JobPostingDTO> getActiveJobPostings() {
-        return jobPostingRepository.findByStatus("Đang mở").stream()
+        return jobPostingRepository.findByStatusFetchPlan(OPEN_STATUS).stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * The open postings among the given postings and the postings of the given plans.
+     */
+    public List<JobPostingDTO> getActiveJobPostings(Collection<Integer> postIds, Collection<Integer> planIds) {
+        // An empty IN list is not valid SQL on every database
+        return jobPostingRepository.findByStatusAndPostOrPlanFetchPlan(OPEN_STATUS,
+                        postIds.isEmpty() ? List.of(-1) : postIds,
+                        planIds.isEmpty() ? List.of(-1) : planIds).stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
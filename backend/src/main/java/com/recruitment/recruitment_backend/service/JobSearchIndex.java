@@ -0,0 +1,349 @@
+package com.recruitment.recruitment_backend.service;
+
+import com.recruitment.recruitment_backend.dto.JobPostingDTO;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Faceted search over the open job postings. Every posting gets a slot; each position
+ * and school value keeps a bitset of the slots that have it, and deadline and required
+ * CPA are kept as sorted arrays of slots, so a search is a few bitset intersections
+ * and binary searches with no database access.
+ * <p>
+ * The index follows the posting and plan versions in {@link EntityVersionRegistry}.
+ * Postings and plans committed on this instance are re-read and patched in one by
+ * one; when the versions moved further than local commits explain, another instance
+ * wrote as well and the index is rebuilt from scratch.
+ */
+@Service
+public class JobSearchIndex {
+
+    // Beyond this many pending changes a full reload is cheaper than patching
+    private static final int MAX_INCREMENTAL_CHANGES = 500;
+
+    private final JobPostingService jobPostingService;
+    private final EntityVersionRegistry entityVersionRegistry;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Changes committed locally since the last update, guarded by pendingLock
+    private final Set<Integer> changedPostIds = new HashSet<>();
+    private final Set<Integer> changedPlanIds = new HashSet<>();
+    private long localPostingCommits;
+    private long localPlanCommits;
+    private final Object pendingLock = new Object();
+
+    // Guarded by the read/write lock
+    private Index index;
+    private long indexedPostings = -1;
+    private long indexedPlans = -1;
+
+    public JobSearchIndex(JobPostingService jobPostingService, EntityVersionRegistry entityVersionRegistry) {
+        this.jobPostingService = jobPostingService;
+        this.entityVersionRegistry = entityVersionRegistry;
+        entityVersionRegistry.addCommitListener(this::committed);
+    }
+
+    /**
+     * @param position exact position, ignoring case and accents; null for any
+     * @param school exact school, ignoring case and accents; null for any
+     * @param cpa the candidate's CPA: only postings requiring at most this; null for any
+     * @param deadlineFrom earliest deadline, inclusive; null for no bound
+     * @param deadlineTo latest deadline, inclusive; null for no bound
+     * @return matching postings by deadline, total count, and facet counts where each
+     *         facet is counted with every filter applied except its own
+     */
+    public Map<String, Object> search(String position, String school, Float cpa,
+                                      LocalDate deadlineFrom, LocalDate deadlineTo, int page, int size) {
+        ensureCurrent();
+        lock.readLock().lock();
+        try {
+            Index current = index;
+            if (current == null) {
+                throw new RuntimeException("Job search is temporarily unavailable");
+            }
+            BitSet byPosition = position == null ? null : current.facet(current.byPosition, position);
+            BitSet bySchool = school == null ? null : current.facet(current.bySchool, school);
+            BitSet byCpa = cpa == null ? null : current.byRequiredCpa.atMost(cpaKey(cpa));
+            BitSet byDeadline = deadlineFrom == null && deadlineTo == null ? null
+                    : current.byDeadline.between(
+                            deadlineFrom == null ? Long.MIN_VALUE : deadlineFrom.toEpochDay(),
+                            deadlineTo == null ? Long.MAX_VALUE : deadlineTo.toEpochDay());
+
+            BitSet others = intersect(current.live, byCpa, byDeadline);
+            BitSet matches = intersect(others, byPosition, bySchool);
+
+            List<JobPostingDTO> results = new ArrayList<>();
+            int skip = Math.max(0, page) * size;
+            SortedColumn order = current.byDeadline;
+            for (int i = 0; i < order.size && results.size() < size; i++) {
+                int slot = order.slots[i];
+                if (matches.get(slot) && skip-- <= 0) {
+                    results.add(current.postings.get(slot));
+                }
+            }
+
+            Map<String, Object> facets = new LinkedHashMap<>();
+            facets.put("position", current.counts(current.byPosition, intersect(others, bySchool)));
+            facets.put("school", current.counts(current.bySchool, intersect(others, byPosition)));
+
+            Map<String, Object> response = new LinkedHashMap<>();
+            response.put("total", matches.cardinality());
+            response.put("page", page);
+            response.put("size", size);
+            response.put("results", results);
+            response.put("facets", facets);
+            return response;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void committed(String aggregate, Set<Object> ids) {
+        synchronized (pendingLock) {
+            if (EntityVersionRegistry.POSTINGS.equals(aggregate)) {
+                ids.forEach(id -> changedPostIds.add((Integer) id));
+                localPostingCommits++;
+            } else if (EntityVersionRegistry.PLANS.equals(aggregate)) {
+                ids.forEach(id -> changedPlanIds.add((Integer) id));
+                localPlanCommits++;
+            }
+        }
+    }
+
+    private void ensureCurrent() {
+        long postings = entityVersionRegistry.version(EntityVersionRegistry.POSTINGS);
+        long plans = entityVersionRegistry.version(EntityVersionRegistry.PLANS);
+        lock.readLock().lock();
+        try {
+            if (index != null && postings == indexedPostings && plans == indexedPlans) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        // One updater at a time; searches arriving meanwhile wait for its result
+        lock.writeLock().lock();
+        try {
+            postings = entityVersionRegistry.version(EntityVersionRegistry.POSTINGS);
+            plans = entityVersionRegistry.version(EntityVersionRegistry.PLANS);
+            if (index != null && postings == indexedPostings && plans == indexedPlans) {
+                return;
+            }
+            Set<Integer> postIds;
+            Set<Integer> planIds;
+            boolean onlyLocal;
+            synchronized (pendingLock) {
+                onlyLocal = index != null
+                        && postings - indexedPostings == localPostingCommits
+                        && plans - indexedPlans == localPlanCommits;
+                postIds = new HashSet<>(changedPostIds);
+                planIds = new HashSet<>(changedPlanIds);
+                changedPostIds.clear();
+                changedPlanIds.clear();
+                localPostingCommits = 0;
+                localPlanCommits = 0;
+            }
+
+            if (onlyLocal && postIds.size() + planIds.size() <= MAX_INCREMENTAL_CHANGES) {
+                index.removePostings(postIds, planIds);
+                jobPostingService.getActiveJobPostings(postIds, planIds).forEach(index::add);
+            } else {
+                Index rebuilt = new Index();
+                jobPostingService.getActiveJobPostings().forEach(rebuilt::add);
+                index = rebuilt;
+            }
+            indexedPostings = postings;
+            indexedPlans = plans;
+        } catch (RuntimeException e) {
+            // Force a full reload next time rather than trusting a half-patched index
+            index = null;
+            throw e;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static BitSet intersect(BitSet base, BitSet... filters) {
+        BitSet result = (BitSet) base.clone();
+        for (BitSet filter : filters) {
+            if (filter != null) {
+                result.and(filter);
+            }
+        }
+        return result;
+    }
+
+    private static long cpaKey(Float cpa) {
+        // Hundredths are as fine as CPAs are given
+        return cpa == null ? Long.MIN_VALUE : Math.round(cpa * 100.0);
+    }
+
+    private static class Index {
+        private final List<JobPostingDTO> postings = new ArrayList<>();
+        private final BitSet live = new BitSet();
+        private final Map<String, Facet> byPosition = new HashMap<>();
+        private final Map<String, Facet> bySchool = new HashMap<>();
+        private final SortedColumn byDeadline = new SortedColumn();
+        private final SortedColumn byRequiredCpa = new SortedColumn();
+
+        void add(JobPostingDTO posting) {
+            int slot = live.nextClearBit(0);
+            if (slot == postings.size()) {
+                postings.add(posting);
+            } else {
+                postings.set(slot, posting);
+            }
+            live.set(slot);
+            facetAdd(byPosition, posting.getPosition(), slot);
+            facetAdd(bySchool, posting.getSchool(), slot);
+            byDeadline.insert(deadlineKey(posting), slot);
+            byRequiredCpa.insert(cpaKey(posting.getRequiredCpa()), slot);
+        }
+
+        void removePostings(Set<Integer> postIds, Set<Integer> planIds) {
+            for (int slot = live.nextSetBit(0); slot >= 0; slot = live.nextSetBit(slot + 1)) {
+                JobPostingDTO posting = postings.get(slot);
+                if (postIds.contains(posting.getPostid()) || planIds.contains(posting.getPlanid())) {
+                    remove(slot);
+                }
+            }
+        }
+
+        private void remove(int slot) {
+            JobPostingDTO posting = postings.get(slot);
+            live.clear(slot);
+            postings.set(slot, null);
+            facetRemove(byPosition, posting.getPosition(), slot);
+            facetRemove(bySchool, posting.getSchool(), slot);
+            byDeadline.remove(deadlineKey(posting), slot);
+            byRequiredCpa.remove(cpaKey(posting.getRequiredCpa()), slot);
+        }
+
+        BitSet facet(Map<String, Facet> facets, String value) {
+            Facet facet = facets.get(JobPositionResolver.normalize(value));
+            return facet == null ? new BitSet() : facet.slots;
+        }
+
+        Map<String, Integer> counts(Map<String, Facet> facets, BitSet filter) {
+            Map<String, Integer> counts = new LinkedHashMap<>();
+            facets.values().stream()
+                    .sorted((a, b) -> a.label.compareToIgnoreCase(b.label))
+                    .forEach(facet -> {
+                        BitSet hits = (BitSet) facet.slots.clone();
+                        hits.and(filter);
+                        int count = hits.cardinality();
+                        if (count > 0) {
+                            counts.put(facet.label, count);
+                        }
+                    });
+            return counts;
+        }
+
+        private static void facetAdd(Map<String, Facet> facets, String value, int slot) {
+            if (value == null || value.isBlank()) {
+                return;
+            }
+            facets.computeIfAbsent(JobPositionResolver.normalize(value), key -> new Facet(value.trim()))
+                    .slots.set(slot);
+        }
+
+        private static void facetRemove(Map<String, Facet> facets, String value, int slot) {
+            if (value == null || value.isBlank()) {
+                return;
+            }
+            String key = JobPositionResolver.normalize(value);
+            Facet facet = facets.get(key);
+            if (facet != null) {
+                facet.slots.clear(slot);
+                if (facet.slots.isEmpty()) {
+                    facets.remove(key);
+                }
+            }
+        }
+
+        private static long deadlineKey(JobPostingDTO posting) {
+            return posting.getDeadline() == null ? Long.MAX_VALUE : posting.getDeadline().toEpochDay();
+        }
+    }
+
+    private static class Facet {
+        // First spelling seen, shown in facet counts
+        private final String label;
+        private final BitSet slots = new BitSet();
+
+        Facet(String label) {
+            this.label = label;
+        }
+    }
+
+    /**
+     * Slots ordered by a numeric key, ties by slot. Inserts and removals shift the
+     * arrays, which for a job board of hundreds of postings is cheaper than any tree.
+     */
+    private static class SortedColumn {
+        private long[] keys = new long[16];
+        private int[] slots = new int[16];
+        private int size;
+
+        void insert(long key, int slot) {
+            int at = position(key, slot);
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            System.arraycopy(keys, at, keys, at + 1, size - at);
+            System.arraycopy(slots, at, slots, at + 1, size - at);
+            keys[at] = key;
+            slots[at] = slot;
+            size++;
+        }
+
+        void remove(long key, int slot) {
+            int at = position(key, slot);
+            if (at < size && keys[at] == key && slots[at] == slot) {
+                System.arraycopy(keys, at + 1, keys, at, size - at - 1);
+                System.arraycopy(slots, at + 1, slots, at, size - at - 1);
+                size--;
+            }
+        }
+
+        BitSet atMost(long max) {
+            return between(Long.MIN_VALUE, max);
+        }
+
+        BitSet between(long min, long max) {
+            BitSet result = new BitSet();
+            for (int i = position(min, Integer.MIN_VALUE); i < size && keys[i] <= max; i++) {
+                result.set(slots[i]);
+            }
+            return result;
+        }
+
+        // First index whose (key, slot) is not below the given pair
+        private int position(long key, int slot) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (keys[mid] < key || (keys[mid] == key && slots[mid] < slot)) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
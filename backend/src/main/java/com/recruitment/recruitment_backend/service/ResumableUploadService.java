@@ -0,0 +1,318 @@
+package com.recruitment.recruitment_backend.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resumable CV uploads. A client opens a session with the total length, sends the file
+ * in chunks at explicit byte offsets and, after a dropped connection, asks for the
+ * current offset and continues from there instead of starting over. Chunks are written
+ * with positional writes into a session file that is renamed into the CV store on
+ * completion. Sessions nobody touched within the expiry are swept.
+ * <p>
+ * Each session's length and client are written to a small metadata file next to its
+ * data file, and sessions are reloaded from those files at startup, so an upload can
+ * be resumed across a restart; the offset is the data file's size. The number of open
+ * sessions is capped both overall and per client address.
+ */
+@Service
+public class ResumableUploadService {
+
+    private static final Logger log = LoggerFactory.getLogger(ResumableUploadService.class);
+
+    private static final String SESSION_SUFFIX = ".upload";
+    private static final String METADATA_SUFFIX = ".meta";
+
+    private final FileStorageService fileStorageService;
+    private final Path sessionDirectory;
+    private final Duration expiry;
+    private final int maxSessions;
+    private final int maxSessionsPerClient;
+    private final Map<String, UploadSession> sessions = new ConcurrentHashMap<>();
+
+    public ResumableUploadService(FileStorageService fileStorageService,
+                                  @Value("${file.upload-session.expiry-minutes:60}") long expiryMinutes,
+                                  @Value("${file.upload-session.max-sessions:500}") int maxSessions,
+                                  @Value("${file.upload-session.max-per-client:5}") int maxSessionsPerClient) {
+        this.fileStorageService = fileStorageService;
+        this.expiry = Duration.ofMinutes(expiryMinutes);
+        this.maxSessions = maxSessions;
+        this.maxSessionsPerClient = maxSessionsPerClient;
+        // Inside the upload tree so completion is a rename on the same file system
+        this.sessionDirectory = fileStorageService.getStorageLocation().resolve(".sessions");
+        try {
+            Files.createDirectories(this.sessionDirectory);
+        } catch (IOException ex) {
+            throw new RuntimeException("Could not create the upload session directory.", ex);
+        }
+        restoreSessions();
+    }
+
+    /**
+     * @param client address of the client opening the session, for the per-client cap
+     * @throws SessionLimitException if too many sessions are open, overall or for the client
+     */
+    public UploadSession create(long length, String client) {
+        if (length <= 0) {
+            throw new RuntimeException("Upload length must be positive");
+        }
+        if (length > FileStorageService.MAX_CV_SIZE) {
+            throw new RuntimeException("File size must not exceed 5MB");
+        }
+        UploadSession session = new UploadSession(UUID.randomUUID().toString(), length, client, 0, Instant.now());
+        // Check and insert together, so concurrent creates cannot overshoot the caps
+        synchronized (sessions) {
+            if (sessions.size() >= maxSessions) {
+                throw new SessionLimitException("Too many uploads in progress, please try again later");
+            }
+            long open = sessions.values().stream().filter(s -> s.client.equals(session.client)).count();
+            if (open >= maxSessionsPerClient) {
+                throw new SessionLimitException("Too many uploads in progress from this client");
+            }
+            sessions.put(session.id, session);
+        }
+        try {
+            Files.createFile(sessionFile(session.id));
+            writeMetadata(session);
+        } catch (IOException ex) {
+            sessions.remove(session.id);
+            deleteQuietly(sessionFile(session.id));
+            deleteQuietly(metadataFile(session.id));
+            throw new RuntimeException("Could not create upload session. Please try again!", ex);
+        }
+        return session;
+    }
+
+    /**
+     * @return the session, or null if it is unknown, expired or already completed
+     */
+    public UploadSession get(String uploadId) {
+        return sessions.get(uploadId);
+    }
+
+    /**
+     * Write a chunk at the given offset. Bytes that arrive before the connection drops are
+     * kept, so the client resumes from whatever offset this leaves behind.
+     * @return the offset after the chunk
+     * @throws IllegalStateException if the offset is not the session's current offset
+     */
+    public long append(String uploadId, long offset, InputStream body) throws IOException {
+        UploadSession session = require(uploadId);
+        synchronized (session) {
+            if (offset != session.offset) {
+                throw new IllegalStateException("Upload offset is " + session.offset + ", not " + offset);
+            }
+            long position = offset;
+            try (FileChannel channel = FileChannel.open(sessionFile(uploadId), StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+                int read;
+                while ((read = body.read(buffer.array(), 0, buffer.capacity())) != -1) {
+                    if (position + read > session.length) {
+                        throw new RuntimeException("Chunk exceeds the declared upload length");
+                    }
+                    buffer.limit(read).position(0);
+                    while (buffer.hasRemaining()) {
+                        position += channel.write(buffer, position);
+                    }
+                    buffer.clear();
+                }
+            } finally {
+                session.offset = position;
+                session.lastActivity = Instant.now();
+            }
+            return position;
+        }
+    }
+
+    /**
+     * Hand a fully received upload over to the CV store.
+     * @return the stored path, in the same form as {@link FileStorageService#storeFile}
+     * @throws IllegalStateException if bytes are still missing
+     */
+    public String complete(String uploadId) {
+        UploadSession session = require(uploadId);
+        synchronized (session) {
+            if (session.offset != session.length) {
+                throw new IllegalStateException("Upload incomplete: " + session.offset + " of " + session.length + " bytes received");
+            }
+            sessions.remove(uploadId);
+            deleteQuietly(metadataFile(uploadId));
+            // Moves the session file away, or deletes it if the content is rejected
+            return fileStorageService.storeAssembledFile(sessionFile(uploadId));
+        }
+    }
+
+    public void cancel(String uploadId) {
+        UploadSession session = sessions.remove(uploadId);
+        if (session != null) {
+            synchronized (session) {
+                deleteQuietly(sessionFile(uploadId));
+                deleteQuietly(metadataFile(uploadId));
+            }
+        }
+    }
+
+    /**
+     * Drop sessions idle for longer than the expiry, plus session files that have no
+     * session, e.g. because their metadata was lost.
+     */
+    @Scheduled(fixedDelayString = "${file.upload-session.sweep-interval-ms:300000}")
+    public void sweepExpired() {
+        Instant cutoff = Instant.now().minus(expiry);
+        sessions.values().removeIf(session -> {
+            if (session.lastActivity.isBefore(cutoff)) {
+                synchronized (session) {
+                    deleteQuietly(sessionFile(session.id));
+                    deleteQuietly(metadataFile(session.id));
+                }
+                return true;
+            }
+            return false;
+        });
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(sessionDirectory,
+                "*{" + SESSION_SUFFIX + "," + METADATA_SUFFIX + "}")) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                String uploadId = name.substring(0, name.lastIndexOf('.'));
+                if (!sessions.containsKey(uploadId)
+                        && Files.getLastModifiedTime(file).toInstant().isBefore(cutoff)) {
+                    deleteQuietly(file);
+                }
+            }
+        } catch (IOException ex) {
+            log.warn("Could not sweep upload sessions in {}", sessionDirectory, ex);
+        }
+    }
+
+    /**
+     * Reload the sessions a previous run left behind. A session whose data or metadata
+     * file is missing or unreadable is skipped and later swept.
+     */
+    private void restoreSessions() {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(sessionDirectory, "*" + METADATA_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                String uploadId = name.substring(0, name.length() - METADATA_SUFFIX.length());
+                Path data = sessionFile(uploadId);
+                try {
+                    Properties metadata = new Properties();
+                    try (InputStream in = Files.newInputStream(file)) {
+                        metadata.load(in);
+                    }
+                    if (!Files.exists(data)) {
+                        continue;
+                    }
+                    // Chunks are written in order from the current offset, so the file size is the offset
+                    sessions.put(uploadId, new UploadSession(uploadId,
+                            Long.parseLong(metadata.getProperty("length")), metadata.getProperty("client", ""),
+                            Files.size(data), Files.getLastModifiedTime(data).toInstant()));
+                } catch (IOException | RuntimeException ex) {
+                    log.warn("Could not restore upload session {}", uploadId, ex);
+                }
+            }
+        } catch (IOException ex) {
+            log.warn("Could not restore upload sessions from {}", sessionDirectory, ex);
+        }
+        if (!sessions.isEmpty()) {
+            log.info("Restored {} upload sessions", sessions.size());
+        }
+    }
+
+    private void writeMetadata(UploadSession session) throws IOException {
+        Properties metadata = new Properties();
+        metadata.setProperty("length", String.valueOf(session.length));
+        metadata.setProperty("client", session.client);
+        Path partial = sessionDirectory.resolve(session.id + METADATA_SUFFIX + ".part");
+        try (OutputStream out = Files.newOutputStream(partial)) {
+            metadata.store(out, null);
+        }
+        // Renamed into place, so a restart never reads half-written metadata
+        Files.move(partial, metadataFile(session.id), StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private UploadSession require(String uploadId) {
+        UploadSession session = sessions.get(uploadId);
+        if (session == null) {
+            throw new RuntimeException("Upload session not found: " + uploadId);
+        }
+        return session;
+    }
+
+    private Path sessionFile(String uploadId) {
+        return sessionDirectory.resolve(uploadId + SESSION_SUFFIX);
+    }
+
+    private Path metadataFile(String uploadId) {
+        return sessionDirectory.resolve(uploadId + METADATA_SUFFIX);
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ex) {
+            log.warn("Could not delete upload session file {}", file, ex);
+        }
+    }
+
+    /**
+     * Thrown by {@link #create} when the session caps are reached.
+     */
+    public static class SessionLimitException extends RuntimeException {
+        public SessionLimitException(String message) {
+            super(message);
+        }
+    }
+
+    public static class UploadSession {
+        private final String id;
+        private final long length;
+        private final String client;
+        private volatile long offset;
+        private volatile Instant lastActivity;
+
+        UploadSession(String id, long length, String client, long offset, Instant lastActivity) {
+            this.id = id;
+            this.length = length;
+            this.client = client == null ? "" : client;
+            this.offset = offset;
+            this.lastActivity = lastActivity;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public long getLength() {
+            return length;
+        }
+
+        public long getOffset() {
+            return offset;
+        }
+
+        public Instant getLastActivity() {
+            return lastActivity;
+        }
+    }
+}
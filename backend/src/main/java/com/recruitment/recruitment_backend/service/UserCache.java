@@ -0,0 +1,198 @@
+package com.recruitment.recruitment_backend.service;
+
+import com.recruitment.recruitment_backend.dto.UserProfileDTO;
+import com.recruitment.recruitment_backend.model.UnitManager;
+import com.recruitment.recruitment_backend.model.User;
+import com.recruitment.recruitment_backend.repository.AdminRepository;
+import com.recruitment.recruitment_backend.repository.PersonnelManagerRepository;
+import com.recruitment.recruitment_backend.repository.RectorRepository;
+import com.recruitment.recruitment_backend.repository.UnitManagerRepository;
+import com.recruitment.recruitment_backend.repository.UsersRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Identity and profile of recently seen users, so logging in, loading UserDetails and
+ * showing a profile read the same rows once instead of each querying them.
+ * <p>
+ * Entries expire after {@code user.cache.ttl-seconds} and the least recently used are
+ * dropped beyond {@code user.cache.max-size}. Writes to a user must call
+ * {@link #invalidate(String)}; the TTL bounds how long another instance's writes can
+ * go unseen.
+ */
+@Service
+public class UserCache {
+
+    private final UsersRepository usersRepository;
+    private final AdminRepository adminRepository;
+    private final RectorRepository rectorRepository;
+    private final UnitManagerRepository unitManagerRepository;
+    private final PersonnelManagerRepository personnelManagerRepository;
+    private final long ttlNanos;
+    private final int maxSize;
+
+    // Access ordered, so the eldest entry is the least recently used; guarded by itself
+    private final LinkedHashMap<String, Entry> entries;
+    // Bumped by every invalidation, so a load that raced with a write is not cached
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public UserCache(UsersRepository usersRepository,
+                     AdminRepository adminRepository,
+                     RectorRepository rectorRepository,
+                     UnitManagerRepository unitManagerRepository,
+                     PersonnelManagerRepository personnelManagerRepository,
+                     @Value("${user.cache.ttl-seconds:300}") long ttlSeconds,
+                     @Value("${user.cache.max-size:10000}") int maxSize) {
+        this.usersRepository = usersRepository;
+        this.adminRepository = adminRepository;
+        this.rectorRepository = rectorRepository;
+        this.unitManagerRepository = unitManagerRepository;
+        this.personnelManagerRepository = personnelManagerRepository;
+        this.ttlNanos = ttlSeconds * 1_000_000_000L;
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > UserCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * A user as cached. Holds the password hash for authentication, so it must never
+     * be serialized as is; use {@link #toProfile()} for responses.
+     * @param roleId id of the user's row in the table of their role, or null if there is none
+     */
+    public record CachedUser(Integer userId, String username, String passwordHash, String role, Integer roleId,
+                             String fullName, LocalDate dateOfBirth, String sex, String phoneNumber,
+                             String email, String address, String department, String position) {
+
+        public UserProfileDTO toProfile() {
+            return UserProfileDTO.builder()
+                    .userID(userId)
+                    .username(username)
+                    .fullName(fullName)
+                    .dateOfBirth(dateOfBirth)
+                    .sex(sex)
+                    .phoneNumber(phoneNumber)
+                    .email(email)
+                    .address(address)
+                    .role(role)
+                    .department(department)
+                    .position(position)
+                    .build();
+        }
+    }
+
+    public Optional<CachedUser> get(String username) {
+        if (username == null) {
+            return Optional.empty();
+        }
+        long now = System.nanoTime();
+        synchronized (entries) {
+            Entry entry = entries.get(username);
+            if (entry != null && now - entry.loadedAt < ttlNanos) {
+                hits.increment();
+                return Optional.of(entry.user);
+            }
+            if (entry != null) {
+                entries.remove(username);
+                evictions.increment();
+            }
+        }
+        misses.increment();
+
+        long generation = invalidations.get();
+        Optional<CachedUser> loaded = usersRepository.findByUsername(username).map(this::load);
+        loaded.ifPresent(user -> {
+            synchronized (entries) {
+                if (invalidations.get() == generation) {
+                    entries.put(username, new Entry(user, now));
+                }
+            }
+        });
+        return loaded;
+    }
+
+    /**
+     * Drop the user now and, inside a transaction, again after it commits, so a read
+     * of the old row made meanwhile is not left behind.
+     */
+    public void invalidate(String username) {
+        evict(username);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(username);
+                }
+            });
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        synchronized (entries) {
+            stats.put("size", entries.size());
+        }
+        stats.put("maxSize", maxSize);
+        stats.put("hits", hits.sum());
+        stats.put("misses", misses.sum());
+        stats.put("evictions", evictions.sum());
+        stats.put("invalidations", invalidations.get());
+        return stats;
+    }
+
+    private void evict(String username) {
+        synchronized (entries) {
+            invalidations.incrementAndGet();
+            entries.remove(username);
+        }
+    }
+
+    private CachedUser load(User user) {
+        Integer roleId = null;
+        String department = null;
+        String position = null;
+        // Role rows share the user's id, so only their existence is in question
+        switch (String.valueOf(user.getRole())) {
+            case "UNIT_MANAGER" -> {
+                Optional<UnitManager> unitManager = unitManagerRepository.findById(user.getUserID());
+                if (unitManager.isPresent()) {
+                    roleId = user.getUserID();
+                    department = unitManager.get().getDepartment();
+                    position = unitManager.get().getPosition();
+                }
+            }
+            case "ADMIN" -> roleId = adminRepository.existsById(user.getUserID()) ? user.getUserID() : null;
+            case "RECTOR" -> roleId = rectorRepository.existsById(user.getUserID()) ? user.getUserID() : null;
+            case "PERSONNEL_MANAGER" ->
+                    roleId = personnelManagerRepository.existsById(user.getUserID()) ? user.getUserID() : null;
+            default -> {
+            }
+        }
+        return new CachedUser(user.getUserID(), user.getUsername(), user.getPassword(), user.getRole(), roleId,
+                user.getFullName(), user.getDateOfBirth(), user.getSex(), user.getPhoneNumber(),
+                user.getEmail(), user.getAddress(), department, position);
+    }
+
+    private record Entry(CachedUser user, long loadedAt) {
+    }
+}
@@ -3,7 +3,6 @@ package com.recruitment.recruitment_backend.service;
 import com.recruitment.recruitment_backend.dto.UserProfileDTO;
 import com.recruitment.recruitment_backend.dto.UserSelfUpdateRequest;
 import com.recruitment.recruitment_backend.model.User;
-import com.recruitment.recruitment_backend.model.UnitManager;
 import com.recruitment.recruitment_backend.repository.UserRepository;
 import com.recruitment.recruitment_backend.repository.UnitManagerRepository;
 import org.springframework.stereotype.Service;
@@ -14,10 +13,13 @@ public class UserService {
     
     private final UserRepository userRepository;
     private final UnitManagerRepository unitManagerRepository;
+    private final UserCache userCache;
 
-    public UserService(UserRepository userRepository, UnitManagerRepository unitManagerRepository) {
+    public UserService(UserRepository userRepository, UnitManagerRepository unitManagerRepository,
+                       UserCache userCache) {
         this.userRepository = userRepository;
         this.unitManagerRepository = unitManagerRepository;
+        this.userCache = userCache;
     }
 
     public User getUserByUsername(String username) {
@@ -25,29 +27,11 @@ public class UserService {
                 .orElseThrow(() -> new RuntimeException("Không tìm thấy người dùng"));
     }
 
+    // Includes department and position for UNIT_MANAGER users
     public UserProfileDTO getUserProfile(String username) {
-        User user = getUserByUsername(username);
-        
-        UserProfileDTO.UserProfileDTOBuilder builder = UserProfileDTO.builder()
-                .userID(user.getUserID())
-                .username(user.getUsername())
-                .fullName(user.getFullName())
-                .dateOfBirth(user.getDateOfBirth())
-                .sex(user.getSex())
-                .phoneNumber(user.getPhoneNumber())
-                .email(user.getEmail())
-                .address(user.getAddress())
-                .role(user.getRole());
-        
-        // If user is UNIT_MANAGER, get department and position
-        if ("UNIT_MANAGER".equals(user.getRole())) {
-            unitManagerRepository.findById(user.getUserID()).ifPresent(um -> {
-                builder.department(um.getDepartment());
-                builder.position(um.getPosition());
-            });
-        }
-        
-        return builder.build();
+        return userCache.get(username)
+                .map(UserCache.CachedUser::toProfile)
+                .orElseThrow(() -> new RuntimeException("Không tìm thấy người dùng"));
     }
 
     @Transactional
@@ -73,6 +57,19 @@ public class UserService {
         user.setPhoneNumber(updateRequest.getPhone());
         user.setAddress(updateRequest.getAddress());
 
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        userCache.invalidate(username);
+        return saved;
+    }
+
+    /**
+     * Delete a unit manager account together with its role row, which the User no
+     * longer cascades to.
+     */
+    @Transactional
+    public void deleteUnitManager(User user) {
+        unitManagerRepository.findById(user.getUserID()).ifPresent(unitManagerRepository::delete);
+        userRepository.delete(user);
+        userCache.invalidate(user.getUsername());
     }
-}
\ No newline at end of file
+}
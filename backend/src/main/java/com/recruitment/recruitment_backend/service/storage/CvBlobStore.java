@@ -0,0 +1,71 @@
+package com.recruitment.recruitment_backend.service.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Where stored CV files live. Names are the plain file names kept in Candidates.cvPath
+ * after {@code /uploads/cv/}; validating them is the caller's job. Selected with
+ * {@code file.storage.type}: {@code local} (default) or {@code s3}.
+ */
+public interface CvBlobStore {
+
+    /**
+     * Store content under the given name, replacing any existing blob.
+     * @param length number of bytes, or -1 if unknown
+     */
+    void put(String name, InputStream content, long length) throws IOException;
+
+    /**
+     * Store a local file under the given name. The source is consumed: it is moved or
+     * deleted once stored.
+     */
+    default void putFile(String name, Path source) throws IOException {
+        try (InputStream in = Files.newInputStream(source)) {
+            put(name, in, Files.size(source));
+        }
+        Files.deleteIfExists(source);
+    }
+
+    /**
+     * @return size and modification time, or null if there is no such blob
+     */
+    BlobStat stat(String name) throws IOException;
+
+    /**
+     * Open the bytes {@code start..end} (inclusive) of a blob.
+     */
+    InputStream get(String name, long start, long end) throws IOException;
+
+    /**
+     * @return true if a blob was deleted
+     */
+    boolean delete(String name) throws IOException;
+
+    /**
+     * Reset the modification time, so a blob that just gained a reference is not
+     * collected as an orphan before that reference is committed.
+     */
+    void touch(String name) throws IOException;
+
+    /**
+     * Names of the blobs not modified since the cutoff, including leftovers of
+     * interrupted writes (ending in {@code .part}).
+     */
+    List<String> listOlderThan(Instant cutoff) throws IOException;
+
+    /**
+     * The file behind a blob when it is on the local file system, so it can be sent
+     * with sendfile or packed; null for remote stores.
+     */
+    default Path localPath(String name) {
+        return null;
+    }
+
+    record BlobStat(long length, Instant lastModified) {
+    }
+}
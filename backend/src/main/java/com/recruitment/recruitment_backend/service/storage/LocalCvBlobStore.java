@@ -0,0 +1,236 @@
+package com.recruitment.recruitment_backend.service.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.regex.Pattern;
+
+/**
+ * CVs on the local file system, in a two-level directory layout derived from the file
+ * name (e.g. {@code ab/cd/abcd1234....pdf}). Files from before sharding are still found
+ * in the flat upload directory.
+ */
+public class LocalCvBlobStore implements CvBlobStore {
+
+    private static final Pattern HEX_PREFIX = Pattern.compile("[0-9a-fA-F]{4}");
+
+    private final Path root;
+
+    public LocalCvBlobStore(Path root) {
+        this.root = root;
+        try {
+            Files.createDirectories(root);
+        } catch (IOException ex) {
+            throw new RuntimeException("Could not create the directory where the uploaded files will be stored.", ex);
+        }
+    }
+
+    @Override
+    public void put(String name, InputStream content, long length) throws IOException {
+        Path partial = root.resolve(UUID.randomUUID() + ".part");
+        try {
+            Files.copy(content, partial);
+            putFile(name, partial);
+        } finally {
+            Files.deleteIfExists(partial);
+        }
+    }
+
+    @Override
+    public void putFile(String name, Path source) throws IOException {
+        Path target = shardedPath(name);
+        Files.createDirectories(target.getParent());
+        try {
+            // Rename, not copy: the bytes are written to disk exactly once
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    @Override
+    public BlobStat stat(String name) throws IOException {
+        Path file = resolve(name);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        return new BlobStat(attributes.size(), attributes.lastModifiedTime().toInstant());
+    }
+
+    @Override
+    public InputStream get(String name, long start, long end) throws IOException {
+        FileChannel channel = FileChannel.open(resolve(name), StandardOpenOption.READ);
+        return new InputStream() {
+            private long position = start;
+
+            @Override
+            public int read() throws IOException {
+                byte[] one = new byte[1];
+                return read(one, 0, 1) == -1 ? -1 : one[0] & 0xff;
+            }
+
+            @Override
+            public int read(byte[] buffer, int off, int len) throws IOException {
+                if (position > end) {
+                    return -1;
+                }
+                int count = (int) Math.min(len, end - position + 1);
+                int read = channel.read(ByteBuffer.wrap(buffer, off, count), position);
+                if (read > 0) {
+                    position += read;
+                }
+                return read;
+            }
+
+            @Override
+            public void close() throws IOException {
+                channel.close();
+            }
+        };
+    }
+
+    @Override
+    public boolean delete(String name) throws IOException {
+        return Files.deleteIfExists(resolve(name));
+    }
+
+    @Override
+    public void touch(String name) throws IOException {
+        Files.setLastModifiedTime(resolve(name), FileTime.from(Instant.now()));
+    }
+
+    /**
+     * Walks the tree in parallel with fork/join, one task per directory.
+     */
+    @Override
+    public List<String> listOlderThan(Instant cutoff) {
+        ForkJoinPool pool = new ForkJoinPool();
+        try {
+            return pool.invoke(new ScanTask(root, cutoff)).stream()
+                    .map(path -> path.getFileName().toString())
+                    .toList();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Override
+    public Path localPath(String name) {
+        Path file = resolve(name);
+        return Files.isRegularFile(file) ? file : null;
+    }
+
+    /**
+     * Resolve a file name to its location: the sharded directory if the file is there,
+     * otherwise the flat upload directory used before sharding.
+     */
+    Path resolve(String name) {
+        if (name == null || name.isEmpty() || name.contains("/") || name.contains("\\") || name.contains("..")) {
+            throw new IllegalArgumentException("Invalid file name: " + name);
+        }
+        Path sharded = shardedPath(name);
+        if (Files.exists(sharded)) {
+            return sharded;
+        }
+        return root.resolve(name);
+    }
+
+    /**
+     * Location of a file in the two-level layout, e.g. {@code ab/cd/abcd1234....pdf}.
+     * UUID and SHA-256 names start with hex already; other names are sharded by their hash.
+     */
+    Path shardedPath(String name) {
+        String prefix = name.length() >= 4 && HEX_PREFIX.matcher(name).lookingAt()
+                ? name.substring(0, 4).toLowerCase(Locale.ROOT)
+                : String.format("%08x", name.hashCode()).substring(0, 4);
+        return root.resolve(prefix.substring(0, 2))
+                .resolve(prefix.substring(2, 4))
+                .resolve(name);
+    }
+
+    /**
+     * Move files still lying in the flat upload directory into the sharded layout.
+     * Stored paths do not change, so no database update is needed.
+     * @return number of files moved
+     */
+    public int migrateToShardedLayout() {
+        int moved = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(root, Files::isRegularFile)) {
+            for (Path file : files) {
+                String fileName = file.getFileName().toString();
+                if (fileName.endsWith(".part")) {
+                    continue;
+                }
+                Path target = shardedPath(fileName);
+                Files.createDirectories(target.getParent());
+                Files.move(file, target, StandardCopyOption.ATOMIC_MOVE);
+                moved++;
+            }
+        } catch (IOException ex) {
+            throw new RuntimeException("Could not migrate upload directory after " + moved + " files", ex);
+        }
+        return moved;
+    }
+
+    private static boolean isCandidateFile(String name) {
+        String lower = name.toLowerCase(Locale.ROOT);
+        return lower.endsWith(".pdf") || lower.endsWith(".doc") || lower.endsWith(".docx") || lower.endsWith(".part");
+    }
+
+    /**
+     * Lists one directory, forking a subtask per subdirectory.
+     */
+    private static class ScanTask extends RecursiveTask<List<Path>> {
+        private final Path directory;
+        private final Instant cutoff;
+
+        ScanTask(Path directory, Instant cutoff) {
+            this.directory = directory;
+            this.cutoff = cutoff;
+        }
+
+        @Override
+        protected List<Path> compute() {
+            List<Path> files = new ArrayList<>();
+            List<ScanTask> subtasks = new ArrayList<>();
+            try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+                for (Path entry : entries) {
+                    BasicFileAttributes attributes = Files.readAttributes(entry, BasicFileAttributes.class);
+                    if (attributes.isDirectory()) {
+                        ScanTask subtask = new ScanTask(entry, cutoff);
+                        subtask.fork();
+                        subtasks.add(subtask);
+                    } else if (attributes.isRegularFile()
+                            && isCandidateFile(entry.getFileName().toString())
+                            && attributes.lastModifiedTime().toInstant().isBefore(cutoff)) {
+                        files.add(entry);
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            for (ScanTask subtask : subtasks) {
+                files.addAll(subtask.join());
+            }
+            return files;
+        }
+    }
+}
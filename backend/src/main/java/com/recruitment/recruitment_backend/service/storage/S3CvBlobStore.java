@@ -0,0 +1,206 @@
+package com.recruitment.recruitment_backend.service.storage;
+
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.MetadataDirective;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CVs in an S3-compatible object store (AWS S3, MinIO). Content is streamed: blobs up
+ * to one part are sent with a single PUT, larger or unsized ones as a multipart upload,
+ * and reads are ranged GETs handed to the caller as a stream. Every backend instance
+ * sees the same blobs, so no shared disk is needed.
+ */
+public class S3CvBlobStore implements CvBlobStore, AutoCloseable {
+
+    // S3 rejects multipart parts smaller than 5 MB, except the last one
+    public static final int MIN_PART_SIZE = 5 * 1024 * 1024;
+
+    private final S3Client s3;
+    private final String bucket;
+    private final String prefix;
+    private final int partSize;
+
+    public S3CvBlobStore(S3Client s3, String bucket, String prefix, int partSize) {
+        this.s3 = s3;
+        this.bucket = bucket;
+        this.prefix = prefix == null ? "" : prefix;
+        this.partSize = Math.max(partSize, MIN_PART_SIZE);
+    }
+
+    @Override
+    public void put(String name, InputStream content, long length) throws IOException {
+        if (length >= 0 && length <= partSize) {
+            s3.putObject(request -> request.bucket(bucket).key(key(name)).contentLength(length),
+                    RequestBody.fromInputStream(content, length));
+            return;
+        }
+        if (length < 0) {
+            // Unknown size: a short stream fits in the first part and needs no multipart upload
+            byte[] first = content.readNBytes(partSize);
+            if (first.length < partSize) {
+                s3.putObject(request -> request.bucket(bucket).key(key(name)), RequestBody.fromBytes(first));
+                return;
+            }
+            putMultipart(name, content, length, first);
+            return;
+        }
+        putMultipart(name, content, length, null);
+    }
+
+    /**
+     * Sized streams are sent part by part straight from the source; unsized ones are
+     * buffered one part at a time, since every part needs a content length.
+     */
+    private void putMultipart(String name, InputStream content, long length, byte[] firstPart) throws IOException {
+        String uploadId = s3.createMultipartUpload(request -> request.bucket(bucket).key(key(name))).uploadId();
+        try {
+            List<CompletedPart> parts = new ArrayList<>();
+            if (length >= 0) {
+                long remaining = length;
+                for (int partNumber = 1; remaining > 0; partNumber++) {
+                    long partLength = Math.min(partSize, remaining);
+                    parts.add(uploadPart(name, uploadId, partNumber,
+                            RequestBody.fromInputStream(new PartInputStream(content, partLength), partLength)));
+                    remaining -= partLength;
+                }
+            } else {
+                byte[] part = firstPart;
+                for (int partNumber = 1; part.length > 0; partNumber++) {
+                    parts.add(uploadPart(name, uploadId, partNumber, RequestBody.fromBytes(part)));
+                    part = part.length < partSize ? new byte[0] : content.readNBytes(partSize);
+                }
+            }
+            s3.completeMultipartUpload(request -> request.bucket(bucket).key(key(name)).uploadId(uploadId)
+                    .multipartUpload(upload -> upload.parts(parts)));
+        } catch (IOException | RuntimeException e) {
+            try {
+                s3.abortMultipartUpload(request -> request.bucket(bucket).key(key(name)).uploadId(uploadId));
+            } catch (RuntimeException abortFailure) {
+                e.addSuppressed(abortFailure);
+            }
+            throw e;
+        }
+    }
+
+    private CompletedPart uploadPart(String name, String uploadId, int partNumber, RequestBody body) {
+        String etag = s3.uploadPart(request -> request.bucket(bucket).key(key(name))
+                .uploadId(uploadId).partNumber(partNumber), body).eTag();
+        return CompletedPart.builder().partNumber(partNumber).eTag(etag).build();
+    }
+
+    @Override
+    public BlobStat stat(String name) {
+        try {
+            HeadObjectResponse head = s3.headObject(request -> request.bucket(bucket).key(key(name)));
+            return new BlobStat(head.contentLength(), head.lastModified());
+        } catch (NoSuchKeyException e) {
+            return null;
+        } catch (S3Exception e) {
+            // HEAD responses carry no error body, so a missing key may surface as a bare 404
+            if (e.statusCode() == 404) {
+                return null;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public InputStream get(String name, long start, long end) {
+        return s3.getObject(request -> request.bucket(bucket).key(key(name)).range("bytes=" + start + "-" + end));
+    }
+
+    @Override
+    public boolean delete(String name) {
+        if (stat(name) == null) {
+            return false;
+        }
+        s3.deleteObject(request -> request.bucket(bucket).key(key(name)));
+        return true;
+    }
+
+    @Override
+    public void touch(String name) {
+        // Objects are immutable; copying one onto itself is how S3 updates Last-Modified
+        s3.copyObject(request -> request.sourceBucket(bucket).sourceKey(key(name))
+                .destinationBucket(bucket).destinationKey(key(name))
+                .metadataDirective(MetadataDirective.REPLACE));
+    }
+
+    @Override
+    public List<String> listOlderThan(Instant cutoff) {
+        List<String> names = new ArrayList<>();
+        for (S3Object object : s3.listObjectsV2Paginator(request -> request.bucket(bucket).prefix(prefix)).contents()) {
+            if (object.lastModified().isBefore(cutoff)) {
+                names.add(object.key().substring(prefix.length()));
+            }
+        }
+        return names;
+    }
+
+    @Override
+    public void close() {
+        s3.close();
+    }
+
+    private String key(String name) {
+        return prefix + name;
+    }
+
+    /**
+     * One part of the source stream: ends after the part length and leaves the source
+     * open for the next part when the SDK closes the request body.
+     */
+    private static class PartInputStream extends FilterInputStream {
+        private long remaining;
+
+        PartInputStream(InputStream in, long length) {
+            super(in);
+            this.remaining = length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int b = in.read();
+            if (b != -1) {
+                remaining--;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int off, int len) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int read = in.read(buffer, off, (int) Math.min(len, remaining));
+            if (read > 0) {
+                remaining -= read;
+            }
+            return read;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
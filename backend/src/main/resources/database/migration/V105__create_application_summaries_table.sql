@@ -0,0 +1,31 @@
+-- Denormalized read model for the HR application list.
+-- One row per application, maintained by ApplicationService in the same
+-- transaction as the write, so /api/applications is served by a single query
+-- instead of loading every application with its candidate and position.
+CREATE TABLE application_summaries (
+    applicationid INT NOT NULL PRIMARY KEY,
+    apply_date DATE NOT NULL,
+    status NVARCHAR(20),
+    candidateid INT NOT NULL,
+    candidate_name NVARCHAR(50) NOT NULL,
+    candidate_email NVARCHAR(50) NOT NULL,
+    candidate_cpa FLOAT(24) NOT NULL,
+    positionid INT NOT NULL,
+    position_title NVARCHAR(50) NOT NULL,
+    planid INT NOT NULL,
+    CONSTRAINT FK_application_summaries_application
+        FOREIGN KEY (applicationid) REFERENCES applications(applicationid)
+        ON DELETE CASCADE
+);
+
+CREATE INDEX IX_application_summaries_status ON application_summaries (status, apply_date);
+CREATE INDEX IX_application_summaries_plan ON application_summaries (planid);
+
+-- Backfill existing applications
+INSERT INTO application_summaries (applicationid, apply_date, status, candidateid, candidate_name,
+                                   candidate_email, candidate_cpa, positionid, position_title, planid)
+SELECT a.applicationid, a.apply_date, a.status, c.candidateid, c.full_name,
+       c.email, c.cpa, p.positionid, p.title, p.planid
+FROM applications a
+JOIN candidates c ON c.candidateid = a.candidateid
+JOIN job_positions p ON p.positionid = a.positionid;
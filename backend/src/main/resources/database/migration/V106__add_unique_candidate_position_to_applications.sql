@@ -0,0 +1,27 @@
+-- A candidate may apply to a position only once.
+-- Existing duplicates are HR records with their own status, so they are not removed
+-- here: the migration stops and lists the (candidateid, positionid) pairs to resolve
+-- first. Find their rows with
+--   SELECT * FROM applications a JOIN (SELECT candidateid, positionid FROM applications
+--   GROUP BY candidateid, positionid HAVING COUNT(*) > 1) d
+--   ON d.candidateid = a.candidateid AND d.positionid = a.positionid;
+DECLARE @duplicates NVARCHAR(2048) = (
+    SELECT STRING_AGG(CONCAT('(', candidateid, ', ', positionid, ')'), ', ')
+    FROM (
+        SELECT TOP 50 candidateid, positionid
+        FROM applications
+        GROUP BY candidateid, positionid
+        HAVING COUNT(*) > 1
+    ) d
+);
+
+IF @duplicates IS NOT NULL
+BEGIN
+    DECLARE @message NVARCHAR(2048) = CONCAT(
+        N'Duplicate applications must be resolved before adding UK_applications_candidate_position. ',
+        N'(candidateid, positionid) pairs: ', @duplicates);
+    THROW 50001, @message, 1;
+END;
+
+ALTER TABLE applications
+ADD CONSTRAINT UK_applications_candidate_position UNIQUE (candidateid, positionid);
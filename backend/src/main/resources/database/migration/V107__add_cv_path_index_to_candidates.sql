@@ -0,0 +1,2 @@
+-- Reference counting for content-addressed CV blobs looks candidates up by cv_path
+CREATE INDEX IX_candidates_cv_path ON candidates (cv_path);
@@ -0,0 +1,15 @@
+-- Offset index of the cold CV tier.
+-- CVs of long-closed plans are moved out of the upload tree into append-only
+-- pack files, one gzip member per CV. Each row locates one CV inside a pack,
+-- keyed by the stored file name that Candidates.cv_path still points to.
+CREATE TABLE cv_pack_entries (
+    file_name NVARCHAR(100) NOT NULL PRIMARY KEY,
+    pack_name NVARCHAR(64) NOT NULL,
+    pack_offset BIGINT NOT NULL,
+    compressed_length BIGINT NOT NULL,
+    original_length BIGINT NOT NULL,
+    original_modified DATETIME2 NOT NULL,
+    packed_at DATETIME2 NOT NULL
+);
+
+CREATE INDEX IX_cv_pack_entries_pack ON cv_pack_entries (pack_name);
@@ -0,0 +1,14 @@
+-- Results of the asynchronous CV processing pipeline, one row per stored CV.
+-- Keyed by the stored path, so a candidate's row is found through Candidates.cv_path.
+CREATE TABLE cv_documents (
+    cv_path NVARCHAR(255) NOT NULL PRIMARY KEY,
+    status NVARCHAR(20) NOT NULL,
+    file_type NVARCHAR(10),
+    size_bytes BIGINT,
+    sha256 CHAR(64),
+    word_count INT,
+    page_count INT,
+    extracted_text NVARCHAR(MAX),
+    error NVARCHAR(255),
+    processed_at DATETIME2 NOT NULL
+);
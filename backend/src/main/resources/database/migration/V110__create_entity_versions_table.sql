@@ -0,0 +1,11 @@
+-- Monotonic change counters per aggregate, bumped in the same transaction as every
+-- write to it. Public endpoints derive their ETags from these counters, and every
+-- instance polls this table so their ETags agree.
+CREATE TABLE entity_versions (
+    aggregate NVARCHAR(50) NOT NULL PRIMARY KEY,
+    version BIGINT NOT NULL
+);
+
+INSERT INTO entity_versions (aggregate, version) VALUES ('postings', 0);
+INSERT INTO entity_versions (aggregate, version) VALUES ('plans', 0);
+INSERT INTO entity_versions (aggregate, version) VALUES ('notifications', 0);
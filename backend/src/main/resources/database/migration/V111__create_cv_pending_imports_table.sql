@@ -0,0 +1,8 @@
+-- CVs stored by a ZIP import without a candidate to attach them to. The orphan
+-- collector keeps these files until they are referenced or the row expires.
+CREATE TABLE cv_pending_imports (
+    cv_path NVARCHAR(255) NOT NULL PRIMARY KEY,
+    imported_at DATETIME2 NOT NULL
+);
+
+CREATE INDEX IX_cv_pending_imports_imported_at ON cv_pending_imports (imported_at);
@@ -0,0 +1,86 @@
+package com.recruitment.recruitment_backend.repository;
+
+import com.recruitment.recruitment_backend.model.UnitManager;
+import com.recruitment.recruitment_backend.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Loading a User must stay a single statement whatever role rows exist for it.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.datasource.url=jdbc:h2:mem:user-query-count;MODE=MSSQLServer;DB_CLOSE_DELAY=-1"
+})
+class UserRepositoryQueryCountTest {
+
+    @Autowired
+    private UsersRepository usersRepository;
+
+    @Autowired
+    private UnitManagerRepository unitManagerRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        User user = usersRepository.save(User.builder()
+                .username("manager")
+                .password("$2a$10$abcdefghijklmnopqrstuvabcdefghijklmnopqrstuvwxyzABCDE")
+                .fullName("Unit Manager")
+                .dateOfBirth(LocalDate.of(1980, 1, 1))
+                .phoneNumber("0900000001")
+                .email("manager@example.com")
+                .address("1 Campus Road")
+                .role("UNIT_MANAGER")
+                .sex("F")
+                .build());
+        unitManagerRepository.save(UnitManager.builder()
+                .user(user)
+                .department("Computer Science")
+                .position("Head")
+                .build());
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findByUsernameIssuesOneStatement() {
+        User user = usersRepository.findByUsername("manager").orElseThrow();
+
+        assertThat(user.getRole()).isEqualTo("UNIT_MANAGER");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void findByIdIssuesOneStatement() {
+        Integer id = usersRepository.findByUsername("manager").orElseThrow().getUserID();
+        entityManager.clear();
+        statistics.clear();
+
+        usersRepository.findById(id).orElseThrow();
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
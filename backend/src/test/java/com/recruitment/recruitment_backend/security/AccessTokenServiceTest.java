@@ -0,0 +1,96 @@
+package com.recruitment.recruitment_backend.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AccessTokenServiceTest {
+
+    private static final String OLD_KEY = "old:0123456789abcdef0123456789abcdef";
+    private static final String NEW_KEY = "new:fedcba9876543210fedcba9876543210";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final AccessTokenPrincipal hr = new AccessTokenPrincipal(7, "hr.user", "PERSONNEL_MANAGER", 3);
+
+    @Test
+    void issuedTokenVerifiesToTheSamePrincipal() {
+        AccessTokenService service = new AccessTokenService(objectMapper, OLD_KEY, "old", 3600);
+
+        AccessTokenService.IssuedToken issued = service.issue(hr);
+
+        assertThat(issued.expiresIn()).isEqualTo(3600);
+        assertThat(service.verify(issued.token())).isEqualTo(hr);
+        // A role without a role row keeps the id empty
+        AccessTokenPrincipal admin = new AccessTokenPrincipal(1, "admin", "ADMIN", null);
+        assertThat(service.verify(service.issue(admin).token())).isEqualTo(admin);
+    }
+
+    @Test
+    void tamperedTokensAreRejected() {
+        AccessTokenService service = new AccessTokenService(objectMapper, OLD_KEY, "old", 3600);
+        String[] token = service.issue(hr).token().split("\\.");
+        String[] other = service.issue(new AccessTokenPrincipal(8, "rector", "RECTOR", 1)).token().split("\\.");
+
+        // Another token's claims under this token's signature
+        assertThat(service.verify(token[0] + "." + other[1] + "." + token[2])).isNull();
+        // A flipped signature byte
+        char last = token[2].charAt(token[2].length() - 2);
+        String flipped = token[2].substring(0, token[2].length() - 2) + (last == 'A' ? 'B' : 'A')
+                + token[2].charAt(token[2].length() - 1);
+        assertThat(service.verify(token[0] + "." + token[1] + "." + flipped)).isNull();
+        // No signature, garbage and nothing
+        assertThat(service.verify(token[0] + "." + token[1])).isNull();
+        assertThat(service.verify(token[0] + "." + token[1] + ".!!!")).isNull();
+        assertThat(service.verify("undefined")).isNull();
+        assertThat(service.verify(null)).isNull();
+    }
+
+    @Test
+    void expiredTokensAreRejected() {
+        AccessTokenService service = new AccessTokenService(objectMapper, OLD_KEY, "old", -1);
+
+        assertThat(service.verify(service.issue(hr).token())).isNull();
+    }
+
+    @Test
+    void tokensSignedWithAnUnknownKeyAreRejected() {
+        AccessTokenService issuer = new AccessTokenService(objectMapper, OLD_KEY, "old", 3600);
+        AccessTokenService verifier = new AccessTokenService(objectMapper, NEW_KEY, "new", 3600);
+
+        assertThat(verifier.verify(issuer.issue(hr).token())).isNull();
+        // Without configured keys every instance signs with its own random key
+        AccessTokenService local = new AccessTokenService(objectMapper, "", "", 3600);
+        assertThat(new AccessTokenService(objectMapper, "", "", 3600).verify(local.issue(hr).token())).isNull();
+    }
+
+    @Test
+    void tokensVerifyUnderEveryListedKeyDuringRotation() {
+        // Step one: the new key is added everywhere but the old one still signs
+        AccessTokenService beforeSwitch = new AccessTokenService(objectMapper, OLD_KEY + "," + NEW_KEY, "old", 3600);
+        // Step two: some instances already sign with the new key
+        AccessTokenService afterSwitch = new AccessTokenService(objectMapper, OLD_KEY + "," + NEW_KEY, "new", 3600);
+
+        assertThat(afterSwitch.verify(beforeSwitch.issue(hr).token())).isEqualTo(hr);
+        assertThat(beforeSwitch.verify(afterSwitch.issue(hr).token())).isEqualTo(hr);
+
+        // Step three: once the old key is dropped, tokens signed with it stop verifying
+        AccessTokenService retired = new AccessTokenService(objectMapper, NEW_KEY, "new", 3600);
+        assertThat(retired.verify(beforeSwitch.issue(hr).token())).isNull();
+        assertThat(retired.verify(afterSwitch.issue(hr).token())).isEqualTo(hr);
+    }
+
+    @Test
+    void misconfiguredKeysFailAtStartup() {
+        assertThatThrownBy(() -> new AccessTokenService(objectMapper, OLD_KEY + "," + NEW_KEY, "newest", 3600))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("auth.token.active-key");
+        assertThatThrownBy(() -> new AccessTokenService(objectMapper, "nosecret", "", 3600))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("<kid>:<secret>");
+        assertThatThrownBy(() -> new AccessTokenService(objectMapper, "old:", "old", 3600))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,123 @@
+package com.recruitment.recruitment_backend.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedPasswordEncoderTest {
+
+    @Test
+    void hashesOnThePoolAndPassesResultsThrough() {
+        try (BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(new PlainEncoder(null), 2, 4, 5000)) {
+            assertThat(encoder.encode("secret")).isEqualTo("{plain}secret");
+            assertThat(encoder.matches("secret", "{plain}secret")).isTrue();
+            assertThat(encoder.matches("wrong", "{plain}secret")).isFalse();
+        }
+    }
+
+    @Test
+    void delegateFailuresAreRethrownUnchanged() {
+        PasswordEncoder failing = new PlainEncoder(null) {
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                throw new IllegalArgumentException("Encoded password does not look like BCrypt");
+            }
+        };
+        try (BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(failing, 1, 1, 5000)) {
+            assertThatThrownBy(() -> encoder.matches("secret", "garbage"))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("BCrypt");
+        }
+    }
+
+    @Test
+    void workBeyondTheQueueIsRefused() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        try (BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(new PlainEncoder(release), 1, 1, 10000)) {
+            // One hash runs on the only thread and one waits in the queue
+            Thread running = new Thread(() -> encoder.encode("first"));
+            running.start();
+            awaitWaiting(running);
+            Thread queued = new Thread(() -> encoder.encode("second"));
+            queued.start();
+            awaitWaiting(queued);
+
+            assertThatThrownBy(() -> encoder.matches("third", "{plain}third"))
+                    .isInstanceOf(PasswordHashingBusyException.class)
+                    .hasMessageContaining("queue is full");
+
+            release.countDown();
+            running.join();
+            queued.join();
+            assertThat(encoder.matches("fourth", "{plain}fourth")).isTrue();
+        }
+    }
+
+    @Test
+    void slowHashingTimesOutAndIsCancelled() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        PlainEncoder slow = new PlainEncoder(release);
+        try (BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(slow, 1, 1, 100)) {
+            assertThatThrownBy(() -> encoder.encode("secret"))
+                    .isInstanceOf(PasswordHashingBusyException.class)
+                    .hasMessageContaining("took too long");
+
+            // The abandoned hash was interrupted, freeing the thread for the next caller
+            assertThat(slow.interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+            release.countDown();
+            assertThat(encoder.encode("next")).isEqualTo("{plain}next");
+        }
+    }
+
+    // Waits until the caller has handed its hash to the pool and is blocked on the result
+    private static void awaitWaiting(Thread caller) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (caller.getState() != Thread.State.TIMED_WAITING && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(caller.getState()).isEqualTo(Thread.State.TIMED_WAITING);
+    }
+
+    /**
+     * Prefixes the password instead of hashing it, optionally blocking until released.
+     */
+    private static class PlainEncoder implements PasswordEncoder {
+        private final CountDownLatch release;
+        private final CountDownLatch interrupted = new CountDownLatch(1);
+        private final AtomicBoolean blocked = new AtomicBoolean();
+
+        PlainEncoder(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            awaitRelease();
+            return "{plain}" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+
+        private void awaitRelease() {
+            // Only the first call blocks, so the pool can be reused afterwards
+            if (release == null || !blocked.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.recruitment.recruitment_backend.security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoginThrottleTest {
+
+    @Test
+    void usernameIsRefusedAtTheLimitWhateverItsCase() {
+        LoginThrottle throttle = new LoginThrottle(3, 0, 60);
+
+        for (int i = 0; i < 2; i++) {
+            throttle.recordFailure("Admin", "10.0.0." + i);
+        }
+        assertThat(throttle.retryAfterSeconds("admin", "10.0.0.9")).isZero();
+
+        throttle.recordFailure(" ADMIN ", "10.0.0.2");
+        assertThat(throttle.retryAfterSeconds("admin", "10.0.0.9")).isBetween(1L, 6L);
+        assertThat(throttle.retryAfterSeconds("someone.else", "10.0.0.9")).isZero();
+    }
+
+    @Test
+    void successfulLoginClearsTheUsername() {
+        LoginThrottle throttle = new LoginThrottle(2, 0, 60);
+        throttle.recordFailure("hr", "10.0.0.1");
+        throttle.recordFailure("hr", "10.0.0.1");
+        assertThat(throttle.retryAfterSeconds("hr", "10.0.0.1")).isPositive();
+
+        throttle.recordSuccess("HR");
+        assertThat(throttle.retryAfterSeconds("hr", "10.0.0.1")).isZero();
+    }
+
+    @Test
+    void addressIsRefusedAcrossUsernamesUnlessDisabled() {
+        LoginThrottle throttle = new LoginThrottle(100, 3, 60);
+        for (int i = 0; i < 3; i++) {
+            throttle.recordFailure("user" + i, "203.0.113.7");
+        }
+        assertThat(throttle.retryAfterSeconds("user9", "203.0.113.7")).isPositive();
+        assertThat(throttle.retryAfterSeconds("user9", "203.0.113.8")).isZero();
+
+        // Behind a proxy that hides client addresses the per-address limit is turned off
+        LoginThrottle disabled = new LoginThrottle(100, 0, 60);
+        for (int i = 0; i < 10; i++) {
+            disabled.recordFailure("user" + i, "10.0.0.1");
+        }
+        assertThat(disabled.retryAfterSeconds("user9", "10.0.0.1")).isZero();
+    }
+
+    @Test
+    void failuresExpireOneBucketAtATime() throws InterruptedException {
+        // Two second window in ten 200 ms buckets
+        LoginThrottle throttle = new LoginThrottle(5, 0, 2);
+        for (int i = 0; i < 3; i++) {
+            throttle.recordFailure("rector", null);
+        }
+        Thread.sleep(1000);
+        throttle.recordFailure("rector", null);
+        throttle.recordFailure("rector", null);
+        // Failures from both halves of the window add up
+        assertThat(throttle.retryAfterSeconds("rector", null)).isPositive();
+
+        Thread.sleep(1300);
+        // The first three have slid out, the last two have not
+        assertThat(throttle.retryAfterSeconds("rector", null)).isZero();
+        for (int i = 0; i < 3; i++) {
+            throttle.recordFailure("rector", null);
+        }
+        assertThat(throttle.retryAfterSeconds("rector", null)).isPositive();
+    }
+
+    @Test
+    void cleanUpDropsOnlyExpiredWindows() throws InterruptedException {
+        LoginThrottle throttle = new LoginThrottle(1, 1, 1);
+        throttle.recordFailure("unit", "10.0.0.1");
+        throttle.cleanUp();
+        assertThat(throttle.retryAfterSeconds("unit", "10.0.0.2")).isPositive();
+        assertThat(throttle.retryAfterSeconds("other", "10.0.0.1")).isPositive();
+
+        Thread.sleep(1200);
+        throttle.cleanUp();
+        assertThat(throttle.retryAfterSeconds("unit", "10.0.0.1")).isZero();
+    }
+}
@@ -0,0 +1,176 @@
+package com.recruitment.recruitment_backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The striping on its own, against an in-memory stand-in for the candidate table.
+ * Not covered here: ApplicationService's phone check and upsert against a real
+ * database, and writers on other nodes, which only the unique constraints on email
+ * and phone hold back.
+ */
+class CandidateLockServiceTest {
+
+    @Test
+    void collidingSubmissionsInsertEachCandidateExactlyOnce() throws Exception {
+        CandidateLockService lockService = new CandidateLockService(64, 5000);
+        Map<String, String> emails = new ConcurrentHashMap<>();
+        Map<String, String> phones = new ConcurrentHashMap<>();
+        AtomicInteger inserted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger violations = new AtomicInteger();
+
+        int submissions = 5000;
+        int distinctCandidates = 250;
+        ExecutorService pool = Executors.newFixedThreadPool(64);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < submissions; i++) {
+            int candidate = i % distinctCandidates;
+            // Mix case and formatting so collisions only match after normalization
+            String email = (i % 2 == 0 ? "User" : "user") + candidate + "@example.com ";
+            String phone = (i % 3 == 0 ? "090-" : "090") + String.format("%07d", candidate);
+            futures.add(pool.submit(() -> {
+                start.await();
+                lockService.callLocked(email, phone, () -> {
+                    String emailKey = CandidateLockService.normalizeEmail(email);
+                    String phoneKey = CandidateLockService.normalizePhone(phone);
+                    // Deliberately non-atomic check-then-insert, as against the database
+                    if (emails.containsKey(emailKey) || phones.containsKey(phoneKey)) {
+                        rejected.incrementAndGet();
+                        return null;
+                    }
+                    Thread.yield();
+                    if (emails.put(emailKey, phoneKey) != null | phones.put(phoneKey, emailKey) != null) {
+                        violations.incrementAndGet();
+                    }
+                    inserted.incrementAndGet();
+                    return null;
+                });
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        assertThat(violations.get()).isZero();
+        assertThat(inserted.get()).isEqualTo(distinctCandidates);
+        assertThat(rejected.get()).isEqualTo(submissions - distinctCandidates);
+        assertThat(lockService.getMetrics().get("timeouts")).isEqualTo(0L);
+    }
+
+    @Test
+    void unrelatedCandidatesDoNotWaitOnEachOther() throws Exception {
+        CandidateLockService lockService = new CandidateLockService(256, 200);
+        String heldEmail = "held@example.com";
+        String heldPhone = "0900000000";
+        int heldEmailStripe = lockService.stripeOf(CandidateLockService.normalizeEmail(heldEmail));
+        int heldPhoneStripe = lockService.stripeOf(CandidateLockService.normalizePhone(heldPhone));
+
+        // Find an unrelated candidate whose keys land on other stripes
+        String otherEmail = null;
+        String otherPhone = null;
+        for (int i = 0; otherEmail == null; i++) {
+            String email = "other" + i + "@example.com";
+            String phone = "091" + String.format("%07d", i);
+            int e = lockService.stripeOf(CandidateLockService.normalizeEmail(email));
+            int p = lockService.stripeOf(CandidateLockService.normalizePhone(phone));
+            if (e != heldEmailStripe && e != heldPhoneStripe && p != heldEmailStripe && p != heldPhoneStripe) {
+                otherEmail = email;
+                otherPhone = phone;
+            }
+        }
+
+        CountDownLatch held = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = new Thread(() -> lockService.callLocked(heldEmail, heldPhone, () -> {
+            held.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        }));
+        holder.start();
+        held.await();
+
+        String email = otherEmail;
+        String phone = otherPhone;
+        lockService.callLocked(email, phone, () -> null);
+        assertThat(lockService.getMetrics().get("contended")).isEqualTo(0L);
+
+        // The same candidate does wait, and gives up after the timeout
+        assertThatThrownBy(() -> lockService.callLocked(" HELD@example.com", "090-000-0000", () -> null))
+                .hasMessageContaining("Timed out");
+
+        release.countDown();
+        holder.join();
+        assertThat(lockService.getMetrics().get("timeouts")).isEqualTo(1L);
+    }
+
+    @Test
+    void batchReleasesStripesBeforeItsWorkEnds() throws Exception {
+        CandidateLockService lockService = new CandidateLockService(256, 200);
+        List<String> batchEmails = new ArrayList<>();
+        List<String> batchPhones = new ArrayList<>();
+        Set<Integer> batchStripes = new HashSet<>();
+        for (int i = 0; i < 200; i++) {
+            batchEmails.add("batch" + i + "@example.com");
+            batchPhones.add("092" + String.format("%07d", i));
+            batchStripes.add(lockService.stripeOf(CandidateLockService.normalizeEmail(batchEmails.get(i))));
+            batchStripes.add(lockService.stripeOf(CandidateLockService.normalizePhone(batchPhones.get(i))));
+        }
+        // An unrelated applicant whose keys share stripes with the batch
+        String email = null;
+        for (int i = 0; email == null; i++) {
+            String candidate = "single" + i + "@example.com";
+            if (batchStripes.contains(lockService.stripeOf(CandidateLockService.normalizeEmail(candidate)))) {
+                email = candidate;
+            }
+        }
+        String phone = "0930000000";
+
+        // The intake writer upserts its whole batch, then carries on with the rest of
+        // the batch's statements before it commits
+        CountDownLatch upserted = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        Thread batch = new Thread(() -> {
+            lockService.callLocked(batchEmails, batchPhones, () -> null);
+            upserted.countDown();
+            try {
+                commit.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        batch.start();
+        upserted.await();
+
+        // A synchronous submit meanwhile goes straight through
+        String singleEmail = email;
+        lockService.callLocked(singleEmail, phone, () -> null);
+        assertThat(lockService.getMetrics().get("timeouts")).isEqualTo(0L);
+
+        commit.countDown();
+        batch.join();
+    }
+}
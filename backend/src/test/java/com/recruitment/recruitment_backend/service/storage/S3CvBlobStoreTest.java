@@ -0,0 +1,348 @@
+package com.recruitment.recruitment_backend.service.storage;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.checksums.RequestChecksumCalculation;
+import software.amazon.awssdk.core.checksums.ResponseChecksumValidation;
+import software.amazon.awssdk.http.urlconnection.UrlConnectionHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the S3 store against a MinIO server when {@code CV_S3_TEST_ENDPOINT} (plus
+ * {@code CV_S3_TEST_ACCESS_KEY}, {@code CV_S3_TEST_SECRET_KEY}, {@code CV_S3_TEST_BUCKET})
+ * is set, and otherwise against an in-process stand-in speaking the subset of the S3
+ * protocol the store uses.
+ */
+class S3CvBlobStoreTest {
+
+    private static final int PART_SIZE = S3CvBlobStore.MIN_PART_SIZE;
+
+    private FakeS3 fakeS3;
+    private S3CvBlobStore store;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        String endpoint = System.getenv("CV_S3_TEST_ENDPOINT");
+        String accessKey = System.getenv().getOrDefault("CV_S3_TEST_ACCESS_KEY", "test");
+        String secretKey = System.getenv().getOrDefault("CV_S3_TEST_SECRET_KEY", "test-secret");
+        String bucket = System.getenv().getOrDefault("CV_S3_TEST_BUCKET", "cv-test");
+        if (endpoint == null) {
+            fakeS3 = new FakeS3();
+            endpoint = "http://127.0.0.1:" + fakeS3.port();
+        }
+        S3Client s3 = S3Client.builder()
+                .httpClientBuilder(UrlConnectionHttpClient.builder())
+                .endpointOverride(URI.create(endpoint))
+                .region(Region.US_EAST_1)
+                .forcePathStyle(true)
+                .requestChecksumCalculation(RequestChecksumCalculation.WHEN_REQUIRED)
+                .responseChecksumValidation(ResponseChecksumValidation.WHEN_REQUIRED)
+                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKey, secretKey)))
+                .build();
+        if (fakeS3 == null && !s3.listBuckets().buckets().stream().anyMatch(b -> b.name().equals(bucket))) {
+            s3.createBucket(request -> request.bucket(bucket));
+        }
+        // A fresh prefix per run keeps runs against a shared MinIO apart
+        store = new S3CvBlobStore(s3, bucket, "test-" + UUID.randomUUID() + "/", PART_SIZE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.close();
+        if (fakeS3 != null) {
+            fakeS3.stop();
+        }
+    }
+
+    @Test
+    void smallBlobRoundTripsWithRangedReads() throws IOException {
+        byte[] content = randomBytes(300_000);
+        store.put("a.pdf", new ByteArrayInputStream(content), content.length);
+
+        assertThat(store.stat("a.pdf").length()).isEqualTo(content.length);
+        assertThat(read(store.get("a.pdf", 0, content.length - 1))).isEqualTo(content);
+        assertThat(read(store.get("a.pdf", 1000, 1999))).isEqualTo(Arrays.copyOfRange(content, 1000, 2000));
+        if (fakeS3 != null) {
+            assertThat(fakeS3.multipartUploads.get()).isZero();
+        }
+    }
+
+    @Test
+    void largeBlobsAreUploadedInParts() throws IOException {
+        byte[] content = randomBytes(PART_SIZE * 2 + 12_345);
+
+        store.put("sized.pdf", new ByteArrayInputStream(content), content.length);
+        store.put("unsized.pdf", new ByteArrayInputStream(content), -1);
+
+        assertThat(read(store.get("sized.pdf", 0, content.length - 1))).isEqualTo(content);
+        assertThat(read(store.get("unsized.pdf", 0, content.length - 1))).isEqualTo(content);
+        assertThat(read(store.get("unsized.pdf", PART_SIZE - 10, PART_SIZE + 9)))
+                .isEqualTo(Arrays.copyOfRange(content, PART_SIZE - 10, PART_SIZE + 10));
+        if (fakeS3 != null) {
+            assertThat(fakeS3.multipartUploads.get()).isEqualTo(2);
+            assertThat(fakeS3.maxPartSize.get()).isEqualTo(PART_SIZE);
+        }
+    }
+
+    @Test
+    void unsizedSmallBlobUsesSinglePut() throws IOException {
+        byte[] content = randomBytes(10_000);
+        store.put("short.docx", new ByteArrayInputStream(content), -1);
+
+        assertThat(read(store.get("short.docx", 0, content.length - 1))).isEqualTo(content);
+        if (fakeS3 != null) {
+            assertThat(fakeS3.multipartUploads.get()).isZero();
+        }
+    }
+
+    @Test
+    void deleteListAndTouch() throws Exception {
+        store.put("old.pdf", new ByteArrayInputStream(new byte[]{1, 2, 3}), 3);
+        Instant before = store.stat("old.pdf").lastModified();
+
+        assertThat(store.listOlderThan(Instant.now().plusSeconds(60))).containsExactly("old.pdf");
+        assertThat(store.listOlderThan(before.minusSeconds(60))).isEmpty();
+
+        Thread.sleep(1100);
+        store.touch("old.pdf");
+        assertThat(store.stat("old.pdf").lastModified()).isAfter(before);
+
+        assertThat(store.delete("old.pdf")).isTrue();
+        assertThat(store.stat("old.pdf")).isNull();
+        assertThat(store.delete("old.pdf")).isFalse();
+    }
+
+    private static byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        new Random(length).nextBytes(bytes);
+        return bytes;
+    }
+
+    private static byte[] read(InputStream in) throws IOException {
+        try (in) {
+            return in.readAllBytes();
+        }
+    }
+
+    /**
+     * Path-style S3 stand-in: single and multipart PUT, copy, HEAD, ranged GET, DELETE and
+     * ListObjectsV2. Signatures are not checked; aws-chunked request bodies are decoded.
+     */
+    private static class FakeS3 {
+        private static final DateTimeFormatter HTTP_DATE = DateTimeFormatter.RFC_1123_DATE_TIME.withZone(ZoneOffset.UTC);
+
+        private final HttpServer server;
+        private final Map<String, Blob> objects = new ConcurrentHashMap<>();
+        private final Map<String, Map<Integer, byte[]>> uploads = new ConcurrentHashMap<>();
+        final AtomicInteger multipartUploads = new AtomicInteger();
+        final AtomicInteger maxPartSize = new AtomicInteger();
+
+        private record Blob(byte[] content, Instant lastModified) {
+        }
+
+        FakeS3() throws IOException {
+            server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+            server.createContext("/", exchange -> {
+                try (exchange) {
+                    handle(exchange);
+                } catch (RuntimeException e) {
+                    exchange.sendResponseHeaders(500, -1);
+                }
+            });
+            server.start();
+        }
+
+        int port() {
+            return server.getAddress().getPort();
+        }
+
+        void stop() {
+            server.stop(0);
+        }
+
+        private void handle(HttpExchange exchange) throws IOException {
+            String path = exchange.getRequestURI().getPath();
+            Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+            int slash = path.indexOf('/', 1);
+            String key = slash < 0 ? "" : path.substring(slash + 1);
+            String method = exchange.getRequestMethod();
+
+            if (key.isEmpty() && method.equals("GET")) {
+                String prefix = query.getOrDefault("prefix", "");
+                StringBuilder xml = new StringBuilder("<ListBucketResult><IsTruncated>false</IsTruncated>");
+                new TreeMap<>(objects).forEach((name, blob) -> {
+                    if (name.startsWith(prefix)) {
+                        xml.append("<Contents><Key>").append(name).append("</Key><LastModified>")
+                                .append(blob.lastModified()).append("</LastModified><Size>")
+                                .append(blob.content().length).append("</Size></Contents>");
+                    }
+                });
+                sendXml(exchange, xml.append("</ListBucketResult>").toString());
+                return;
+            }
+
+            switch (method) {
+                case "POST" -> {
+                    if (query.containsKey("uploads")) {
+                        String uploadId = UUID.randomUUID().toString();
+                        uploads.put(uploadId, new TreeMap<>());
+                        multipartUploads.incrementAndGet();
+                        sendXml(exchange, "<InitiateMultipartUploadResult><Key>" + key + "</Key><UploadId>"
+                                + uploadId + "</UploadId></InitiateMultipartUploadResult>");
+                    } else {
+                        body(exchange);
+                        ByteArrayOutputStream joined = new ByteArrayOutputStream();
+                        for (byte[] part : uploads.remove(query.get("uploadId")).values()) {
+                            joined.writeBytes(part);
+                        }
+                        objects.put(key, new Blob(joined.toByteArray(), Instant.now()));
+                        sendXml(exchange, "<CompleteMultipartUploadResult><Key>" + key
+                                + "</Key><ETag>\"done\"</ETag></CompleteMultipartUploadResult>");
+                    }
+                }
+                case "PUT" -> {
+                    String copySource = exchange.getRequestHeaders().getFirst("x-amz-copy-source");
+                    if (copySource != null) {
+                        String sourceKey = copySource.substring(copySource.indexOf('/', 1) + 1);
+                        objects.put(key, new Blob(objects.get(sourceKey).content(), Instant.now()));
+                        sendXml(exchange, "<CopyObjectResult><ETag>\"copy\"</ETag><LastModified>"
+                                + Instant.now() + "</LastModified></CopyObjectResult>");
+                        return;
+                    }
+                    byte[] content = body(exchange);
+                    if (query.containsKey("uploadId")) {
+                        uploads.get(query.get("uploadId")).put(Integer.parseInt(query.get("partNumber")), content);
+                        maxPartSize.accumulateAndGet(content.length, Math::max);
+                    } else {
+                        objects.put(key, new Blob(content, Instant.now()));
+                    }
+                    exchange.getResponseHeaders().add("ETag", "\"" + content.length + "\"");
+                    exchange.sendResponseHeaders(200, -1);
+                }
+                case "HEAD", "GET" -> {
+                    Blob blob = objects.get(key);
+                    if (blob == null) {
+                        if (method.equals("GET")) {
+                            sendXml(exchange, 404, "<Error><Code>NoSuchKey</Code></Error>");
+                        } else {
+                            exchange.sendResponseHeaders(404, -1);
+                        }
+                        return;
+                    }
+                    byte[] content = blob.content();
+                    int start = 0;
+                    int end = content.length - 1;
+                    String range = exchange.getRequestHeaders().getFirst("Range");
+                    if (range != null) {
+                        String[] bounds = range.substring("bytes=".length()).split("-");
+                        start = Integer.parseInt(bounds[0]);
+                        end = Math.min(end, Integer.parseInt(bounds[1]));
+                    }
+                    exchange.getResponseHeaders().add("Last-Modified", HTTP_DATE.format(blob.lastModified()));
+                    exchange.getResponseHeaders().add("ETag", "\"" + content.length + "\"");
+                    if (method.equals("HEAD")) {
+                        exchange.getResponseHeaders().add("Content-Length", String.valueOf(content.length));
+                        exchange.sendResponseHeaders(200, -1);
+                        return;
+                    }
+                    if (range != null) {
+                        exchange.getResponseHeaders().add("Content-Range", "bytes " + start + "-" + end + "/" + content.length);
+                    }
+                    exchange.sendResponseHeaders(range != null ? 206 : 200, end - start + 1);
+                    exchange.getResponseBody().write(content, start, end - start + 1);
+                }
+                case "DELETE" -> {
+                    if (query.containsKey("uploadId")) {
+                        uploads.remove(query.get("uploadId"));
+                    } else {
+                        objects.remove(key);
+                    }
+                    exchange.sendResponseHeaders(204, -1);
+                }
+                default -> exchange.sendResponseHeaders(405, -1);
+            }
+        }
+
+        private static byte[] body(HttpExchange exchange) throws IOException {
+            byte[] raw = exchange.getRequestBody().readAllBytes();
+            String sha = exchange.getRequestHeaders().getFirst("x-amz-content-sha256");
+            if (sha == null || !sha.startsWith("STREAMING-")) {
+                return raw;
+            }
+            // aws-chunked: "<hex size>;chunk-signature=...\r\n<data>\r\n", ending with a 0-size chunk
+            ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+            int position = 0;
+            while (true) {
+                int lineEnd = indexOfCrlf(raw, position);
+                String header = new String(raw, position, lineEnd - position, StandardCharsets.US_ASCII);
+                int size = Integer.parseInt(header.split(";")[0].trim(), 16);
+                if (size == 0) {
+                    return decoded.toByteArray();
+                }
+                decoded.write(raw, lineEnd + 2, size);
+                position = lineEnd + 2 + size + 2;
+            }
+        }
+
+        private static int indexOfCrlf(byte[] bytes, int from) {
+            for (int i = from; i < bytes.length - 1; i++) {
+                if (bytes[i] == '\r' && bytes[i + 1] == '\n') {
+                    return i;
+                }
+            }
+            throw new IllegalStateException("Malformed aws-chunked body");
+        }
+
+        private static Map<String, String> parseQuery(String rawQuery) {
+            Map<String, String> query = new HashMap<>();
+            if (rawQuery == null) {
+                return query;
+            }
+            for (String pair : rawQuery.split("&")) {
+                int eq = pair.indexOf('=');
+                String name = eq < 0 ? pair : pair.substring(0, eq);
+                String value = eq < 0 ? "" : java.net.URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+                query.put(name, value);
+            }
+            return query;
+        }
+
+        private static void sendXml(HttpExchange exchange, String xml) throws IOException {
+            sendXml(exchange, 200, xml);
+        }
+
+        private static void sendXml(HttpExchange exchange, int status, String xml) throws IOException {
+            byte[] bytes = ("<?xml version=\"1.0\" encoding=\"UTF-8\"?>" + xml).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/xml");
+            exchange.sendResponseHeaders(status, bytes.length);
+            exchange.getResponseBody().write(bytes);
+        }
+    }
+}
@@ -19,38 +19,21 @@ export const AuthProvider = ({ children }) => {
         try {
             const authResponse = await loginService(formData); 
 
-            if (typeof authResponse === 'string') {
-                const username = formData.username;
-                const password = formData.password;
-                const tempToken = 'Bearer dummy-token'; 
-
-                localStorage.setItem('accessToken', tempToken);
-                localStorage.setItem('username', username);
-                localStorage.setItem('password', password);
-                
-                apiService.setupCredentials(username, password);
-                
-                const userData = {
-                    username: username, 
-                    role: 'admin',
-                    name: username 
-                };
-                localStorage.setItem('user', JSON.stringify(userData));
-                setUser(userData);
-                
-                setIsLoading(false);
-                return { success: true, user: userData, token: tempToken };
+            // The signed access token is the only credential kept; the password is never stored
+            const token = authResponse && authResponse.accessToken;
+            if (!token) {
+                throw new Error("Đăng nhập thất bại.");
             }
             setUser(authResponse.user);
             
-            const token = authResponse.token;
             localStorage.setItem('accessToken', token);
             localStorage.setItem('username', formData.username);
-            localStorage.setItem('password', formData.password);
             localStorage.setItem('user', JSON.stringify(authResponse.user));
+            // Left behind by older versions that kept the password
+            localStorage.removeItem('password');
             
             apiService.setupToken(token);
-            apiService.setupCredentials(formData.username, formData.password);
+            apiService.setupCredentials(null, null);
             
             setIsLoading(false);
             return authResponse;
@@ -4,6 +4,7 @@ import { FaEye, FaTrash, FaSearch, FaFilter, FaDownload } from 'react-icons/fa';
 import MainLayout from '../layouts/MainLayout';
 import CandidateService from '../services/CandidateService';
 import ApplicationService from '../services/ApplicationService';
+import FileUploadService from '../services/FileUploadService';
 import { AuthContext } from '../context/AuthContext';
 
 const Container = styled.div`
@@ -345,17 +346,28 @@ const CandidatesManagementPage = () => {
         }
     };
 
-    const handleDownloadCV = (cvPath) => {
+    const handleDownloadCV = async (cvPath) => {
         if (!cvPath) {
             alert('Không tìm thấy CV');
             return;
         }
-        // Extract filename from path and use the download endpoint
-        const fileName = cvPath.split('/').pop();
-        const baseUrl = process.env.REACT_APP_API_BASE_URL || 'http://localhost:8080';
-        // Remove /api from base URL if present, then add the download endpoint
-        const apiBase = baseUrl.replace('/api', '');
-        window.open(`${apiBase}/api/files/download/${fileName}`, '_blank');
+        // Open the tab now, while the click still allows pop-ups, and point it at the signed URL
+        const cvWindow = window.open('', '_blank');
+        try {
+            const fileName = cvPath.split('/').pop();
+            const { url } = await FileUploadService.getSignedCvUrl(fileName);
+            const baseUrl = process.env.REACT_APP_API_BASE_URL || 'http://localhost:8080';
+            // Remove /api from base URL if present; signed URLs are server-relative
+            const apiBase = baseUrl.replace('/api', '');
+            if (cvWindow) {
+                cvWindow.location.href = `${apiBase}${url}`;
+            } else {
+                window.open(`${apiBase}${url}`, '_blank');
+            }
+        } catch (error) {
+            cvWindow?.close();
+            alert('Không thể mở CV. Vui lòng thử lại.');
+        }
     };
 
     // Merge candidates with applications
@@ -243,18 +243,15 @@ const ProfilePage = () => {
       setIsLoading(true);
       setError("");
       
-      // Reinitialize API service with credentials from localStorage
-      const username = localStorage.getItem('username');
-      const password = localStorage.getItem('password');
+      // Reinitialize API service with the access token from localStorage
+      const token = localStorage.getItem('accessToken');
       
-      console.log('Loading profile for user:', username);
-      
-      if (!username || !password) {
+      if (!token) {
         throw new Error('Chưa đăng nhập. Vui lòng đăng nhập lại.');
       }
       
-      // Ensure API client has credentials
-      apiService.setupCredentials(username, password);
+      // Ensure API client sends the token
+      apiService.setupToken(token);
       
       const userData = await getUserProfile();
       console.log('Loaded user data:', userData);
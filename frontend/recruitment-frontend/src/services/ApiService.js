@@ -38,17 +38,9 @@ class ApiService {
     }
 
     /**
-     * Khởi tạo service, lấy credentials từ localStorage (nếu có)
+     * Khởi tạo service, lấy access token từ localStorage (nếu có)
      */
     init() {
-        const username = localStorage.getItem('username');
-        const password = localStorage.getItem('password');
-        
-        if (username && password) {
-            this.setupCredentials(username, password);
-        }
-        
-        // Keep token support for backward compatibility
         const token = localStorage.getItem('accessToken');
         if (token) {
             this.setupToken(token);
@@ -20,6 +20,20 @@ class FileUploadService {
             throw error;
         }
     }
+
+    // HR only - Get a short-lived signed URL for a stored CV
+    async getSignedCvUrl(fileName) {
+        try {
+            const token = localStorage.getItem('accessToken');
+            const response = await axios.get(`${API_URL}/files/signed-url/${encodeURIComponent(fileName)}`, {
+                headers: token ? { 'Authorization': `Bearer ${token}` } : {}
+            });
+            return response.data;
+        } catch (error) {
+            console.error('Error getting CV URL:', error);
+            throw error;
+        }
+    }
 }
 
 export default new FileUploadService();
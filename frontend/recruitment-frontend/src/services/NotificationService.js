@@ -3,12 +3,17 @@ import axios from 'axios';
 const API_URL = process.env.REACT_APP_API_BASE_URL || '/api';
 
 class NotificationService {
-    // Get auth headers
+    // Get auth headers with the access token issued at login
     getAuthHeaders() {
         const token = localStorage.getItem('accessToken');
+        if (token) {
+            return {
+                'Content-Type': 'application/json',
+                'Authorization': `Bearer ${token}`
+            };
+        }
         return {
-            'Content-Type': 'application/json',
-            'Authorization': token ? `Bearer ${token}` : ''
+            'Content-Type': 'application/json'
         };
     }
 
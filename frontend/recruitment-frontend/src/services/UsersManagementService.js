@@ -3,16 +3,13 @@ import axios from 'axios';
 const API_URL = 'http://localhost:8080/api';
 
 class UsersManagementService {
-    // Get auth headers with Basic Auth
+    // Get auth headers with the access token issued at login
     getAuthHeaders() {
-        const user = JSON.parse(localStorage.getItem('user') || '{}');
-        const password = localStorage.getItem('userPassword');
-        if (user.username && password) {
-            // Use Basic Auth with username and password from localStorage
-            const credentials = btoa(`${user.username}:${password}`);
+        const token = localStorage.getItem('accessToken');
+        if (token) {
             return {
                 'Content-Type': 'application/json',
-                'Authorization': `Basic ${credentials}`
+                'Authorization': `Bearer ${token}`
             };
         }
         return {